@@ -0,0 +1,118 @@
+import benchmarks.FlowWorkloads;
+import benchmarks.Workload;
+
+import java.util.Random;
+
+/**
+ * Default-package side of {@link FlowWorkloads}: it can reach the package-private project classes.
+ * Solves use quiet runners, so no console I/O ends up in the measurements.
+ */
+public class BenchmarkWorkloads implements FlowWorkloads {
+    private ResidualGraph topology;
+    private int source;
+    private int sink;
+    private long seed;
+    private Graph hashGraph;
+    private Vertex hashSource;
+    private Vertex hashSink;
+
+    public BenchmarkWorkloads() {}
+
+    @Override
+    public void load(int n, double r, int upperCap, long seed) {
+        this.seed = seed;
+        topology = new GraphGenerator().generateResidualGraph(n, r, upperCap, seed);
+        source = topology.getRandomVertex(new Random(seed));
+        sink = Helper.findLongestPath(topology, source);
+
+        hashGraph = new Graph();
+        for (int u = 0; u < topology.n; u++) {
+            for (int a = topology.firstArc[u]; a < topology.firstArc[u + 1]; a++) {
+                if (topology.isForward(a)) {
+                    hashGraph.addEdge(topology.ids[u], topology.ids[topology.head[a]], topology.capacity[a]);
+                }
+            }
+        }
+        hashSource = hashGraph.vertices.get(topology.ids[source]);
+        hashSink = hashGraph.vertices.get(topology.ids[sink]);
+    }
+
+    @Override
+    public Workload search(String strategy) {
+        ResidualGraph graph = topology.copy();
+        switch (strategy) {
+            case "SAP":
+                return () -> SAPSimulation.dijkstra(hashGraph, hashSource, hashSink);
+            case "DFS-Like":
+                return () -> DFSLikeSimulation.dfsLikeDijkstra(hashGraph, hashSource, hashSink);
+            case "Max-Cap":
+                return () -> MaxCapSimulation.maxCapDijkstra(hashGraph, hashSource, hashSink);
+            case "Random":
+                return () -> RandomSimulation.randomDijkstra(hashGraph, hashSource, hashSink);
+            case "SAP-CSR":
+                return () -> SAPSimulation.dijkstra(graph, source, sink);
+            case "DFS-Like-CSR":
+                return () -> DFSLikeSimulation.dfsLikeDijkstra(graph, source, sink);
+            case "Max-Cap-CSR":
+                return () -> MaxCapSimulation.maxCapDijkstra(graph, source, sink);
+            case "Random-CSR":
+                return () -> RandomSimulation.randomDijkstra(graph, source, sink);
+            case "SAP-Search": {
+                SAPSearch search = new SAPSearch(graph);
+                return () -> search.search(source, sink) ? search.pathLength : -1;
+            }
+            case "SAP-Bidi": {
+                SAPSearch search = new SAPSearch(graph, true);
+                return () -> search.search(source, sink) ? search.pathLength : -1;
+            }
+            case "Max-Cap-Search": {
+                MaxCapSearch search = new MaxCapSearch(graph);
+                return () -> search.search(source, sink) ? search.pathLength : -1;
+            }
+            case "Random-Search": {
+                RandomSearch search = new RandomSearch(graph, seed);
+                return () -> search.search(source, sink) ? search.pathLength : -1;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown search strategy: " + strategy);
+        }
+    }
+
+    @Override
+    public Workload solve(String strategy) {
+        return new Workload() {
+            private ResidualGraph graph;
+
+            @Override
+            public void reset() {
+                graph = topology.copy();
+            }
+
+            @Override
+            public Object run() {
+                switch (strategy) {
+                    case "SAP":
+                        return new RunSAPSimulation(true).runSAPSimulation(graph, source, sink, strategy);
+                    case "SAP-Bidi":
+                        return new RunSAPSimulation(true).runSAPSimulation(graph, source, sink, strategy, true);
+                    case "DFS-Like":
+                        return new RunDFSLikeSimulation(true).runDFSLikeSimulation(graph, source, sink, strategy);
+                    case "Max-Cap":
+                        return new RunMaxCapSimulation(true).runMaxCapSimulation(graph, source, sink, strategy);
+                    case "Cap-Scale":
+                        return new RunCapacityScalingSimulation(true).runCapacityScalingSimulation(graph, source, sink, strategy);
+                    case "Random":
+                        return new RunRandomSimulation(true).runRandomSimulation(graph, source, sink, strategy, seed);
+                    case "Dinic":
+                        return new RunDinicSimulation(true).runDinicSimulation(graph, source, sink, strategy);
+                    case "Push-Rel":
+                        return new RunPushRelabelSimulation(true).runPushRelabelSimulation(graph, source, sink, strategy);
+                    case "Par-PR":
+                        return new RunParallelPushRelabelSimulation(true).runParallelPushRelabelSimulation(graph, source, sink, strategy);
+                    default:
+                        throw new IllegalArgumentException("Unknown solve strategy: " + strategy);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package benchmarks;
+
+/**
+ * Bridge from the JMH classes to the project code. JMH refuses benchmarks in the default package, and
+ * named packages cannot see the default package, so the implementation ({@code BenchmarkWorkloads})
+ * lives in the default package and is loaded by name. Calls through this interface are monomorphic
+ * and get inlined, so the indirection does not show in the measurements.
+ */
+public interface FlowWorkloads {
+    String IMPLEMENTATION = "BenchmarkWorkloads";
+
+    // Generates the graph in memory and picks source and sink deterministically from the seed
+    void load(int n, double r, int upperCap, long seed);
+
+    // A single augmenting-path search on the untouched graph
+    Workload search(String strategy);
+
+    // A full max-flow solve; reset() hands it a fresh residual graph
+    Workload solve(String strategy);
+
+    static FlowWorkloads create() {
+        try {
+            return (FlowWorkloads) Class.forName(IMPLEMENTATION).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot load " + IMPLEMENTATION, e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * One generated graph per (n, r, upperCap) point, shared by all benchmark threads.
+ * The seed is fixed so every run and every strategy sees the same graph, source and sink.
+ */
+@State(Scope.Benchmark)
+public class GraphState {
+    static final long SEED = 20231212L;
+
+    @Param({"100", "200", "1000"})
+    public int n;
+
+    @Param({"0.2", "0.3", "0.5"})
+    public double r;
+
+    @Param({"2", "50"})
+    public int upperCap;
+
+    FlowWorkloads workloads;
+
+    @Setup(Level.Trial)
+    public void load() {
+        workloads = FlowWorkloads.create();
+        workloads.load(n, r, upperCap, SEED);
+    }
+}
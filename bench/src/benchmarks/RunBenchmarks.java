@@ -0,0 +1,25 @@
+package benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the suite with the GC profiler, which adds gc.alloc.rate and gc.alloc.rate.norm (bytes per
+ * operation) next to ops/s. Usage: RunBenchmarks [include-regex] [result-file.csv]
+ */
+public class RunBenchmarks {
+    public static void main(String[] args) throws RunnerException {
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.include(args.length > 0 ? args[0] : "benchmarks\\..*Benchmark");
+        builder.addProfiler(GCProfiler.class);
+        if (args.length > 1) {
+            builder.result(args[1]);
+            builder.resultFormat(org.openjdk.jmh.results.format.ResultFormatType.CSV);
+        }
+        Options options = builder.build();
+        new Runner(options).run();
+    }
+}
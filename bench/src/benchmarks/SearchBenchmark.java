@@ -0,0 +1,44 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One augmenting-path search from source to sink. The plain names run the HashMap Graph/Vertex
+ * searches (SAPSimulation.dijkstra and friends), the -CSR names their ResidualGraph overloads, and
+ * SAP-Search the reusable allocation-free SAPSearch (SAP-Bidi in its bidirectional mode).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SearchBenchmark {
+    @Param({"SAP", "DFS-Like", "Max-Cap", "Random", "SAP-CSR", "DFS-Like-CSR", "Max-Cap-CSR", "Random-CSR", "SAP-Search", "SAP-Bidi", "Max-Cap-Search", "Random-Search"})
+    public String strategy;
+
+    private Workload search;
+
+    @Setup(Level.Trial)
+    public void bind(GraphState graph) {
+        search = graph.workloads.search(strategy);
+    }
+
+    @Benchmark
+    public Object search() {
+        return search.run();
+    }
+}
@@ -0,0 +1,48 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A full max-flow solve through the Run*Simulation classes. Every invocation starts from a fresh
+ * residual copy, restored outside the measured region.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SolveBenchmark {
+    @Param({"SAP", "SAP-Bidi", "DFS-Like", "Max-Cap", "Cap-Scale", "Random", "Dinic", "Push-Rel", "Par-PR"})
+    public String strategy;
+
+    private Workload solve;
+
+    @Setup(Level.Trial)
+    public void bind(GraphState graph) {
+        solve = graph.workloads.solve(strategy);
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        solve.reset();
+    }
+
+    @Benchmark
+    public Object solve() {
+        return solve.run();
+    }
+}
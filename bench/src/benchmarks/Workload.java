@@ -0,0 +1,11 @@
+package benchmarks;
+
+/**
+ * One benchmarked operation, bound to a loaded graph by {@link FlowWorkloads}.
+ */
+public interface Workload {
+    // Restores whatever state run() consumes; called before each invocation of stateful workloads
+    default void reset() {}
+
+    Object run();
+}
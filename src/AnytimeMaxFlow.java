@@ -0,0 +1,125 @@
+/**
+ * Maximum flow that can be stopped early with a certified answer. The flow pushed so far is a lower
+ * bound; the upper bound starts at the smaller of the source's out-capacity and the sink's
+ * in-capacity and is tightened by every Dinic level graph, whose BFS levels are source-side cuts
+ * (see {@link DinicSimulation#residualCutBound}). Flow plus the residual capacity of any cut is at
+ * least the maximum flow, so the true answer always lies between the two bounds.
+ * <p>
+ * {@link #run} stops when the bounds meet, when the relative gap falls to the requested one, or
+ * when the time budget is spent. It can be called again to continue from where it stopped, so a
+ * caller can poll the bounds between slices.
+ */
+public class AnytimeMaxFlow {
+    private final ResidualGraph graph;
+    private final int source;
+    private final int sink;
+    private final DinicSimulation dinic;
+    private final FordFulkerson f = new FordFulkerson();
+    private boolean phaseOpen;      // the current level graph may still hold augmenting paths
+    private boolean exhausted;      // the sink is cut off: lowerBound is the maximum flow
+
+    private int lowerBound;
+    private long upperBound;
+
+    // Statistics
+    int paths;
+    int totalLength;
+    int maxLength;
+    int phases;
+
+    // graph must carry no flow yet; its residual array is owned from here on
+    AnytimeMaxFlow(ResidualGraph graph, int source, int sink) {
+        if (graph == null || source < 0 || sink < 0) {
+            throw new IllegalArgumentException("Input arguments cannot be null.");
+        }
+        this.graph = graph;
+        this.source = source;
+        this.sink = sink;
+        this.dinic = new DinicSimulation(graph);
+
+        long out = 0;
+        for (int a = graph.firstArc[source]; a < graph.firstArc[source + 1]; a++) {
+            out += graph.residual[a];
+        }
+        long in = 0;
+        for (int a = graph.firstArc[sink]; a < graph.firstArc[sink + 1]; a++) {
+            in += graph.residual[graph.reverse[a]];
+        }
+        this.upperBound = source == sink ? 0 : Math.min(out, in);
+        this.exhausted = upperBound == 0;
+    }
+
+    int lowerBound() {
+        return lowerBound;
+    }
+
+    long upperBound() {
+        return upperBound;
+    }
+
+    boolean isExact() {
+        return lowerBound == upperBound;
+    }
+
+    /**
+     * Augments until the bounds meet, (upper - lower) <= gap * upper, or budgetNanos have passed.
+     * A gap of 0 asks for the exact answer; budgetNanos <= 0 means no time limit. Returns whether
+     * the lower bound is now the exact maximum flow.
+     */
+    boolean run(long budgetNanos, double gap) {
+        if (gap < 0 || Double.isNaN(gap)) {
+            throw new IllegalArgumentException("Gap must be non-negative: " + gap);
+        }
+        long deadline = System.nanoTime() + budgetNanos;
+        while (!exhausted && !withinGap(gap)) {
+            if (!phaseOpen) {
+                if (!dinic.buildLevelGraph(source, sink)) {
+                    exhausted = true;
+                    upperBound = lowerBound;
+                    break;
+                }
+                phases++;
+                phaseOpen = true;
+                upperBound = Math.min(upperBound, lowerBound + dinic.residualCutBound(sink));
+            } else {
+                augment();
+            }
+            // Checked after the step, so every call makes progress however small the budget
+            if (budgetNanos > 0 && System.nanoTime() - deadline >= 0) {
+                break;
+            }
+        }
+        if (lowerBound == upperBound) {
+            exhausted = true;
+        }
+        return exhausted;
+    }
+
+    // Sends one path through the open level graph, or closes the phase when it is blocked
+    private void augment() {
+        int pathLength = dinic.findPath(source, sink);
+        if (pathLength == 0) {
+            phaseOpen = false;
+            return;
+        }
+        paths++;
+        int length = pathLength + 1; // vertices on the path
+        totalLength += length;
+        maxLength = Math.max(maxLength, length);
+
+        int minCapacity = f.findMinCapacity(graph, dinic.path, pathLength);
+        f.updateResidualGraph(graph, dinic.path, pathLength, minCapacity);
+        lowerBound += minCapacity;
+    }
+
+    private boolean withinGap(double gap) {
+        return lowerBound >= upperBound || upperBound - lowerBound <= gap * upperBound;
+    }
+
+    // Snapshot of the current bounds and path statistics; approximate unless the bounds have met
+    Result result(String type) {
+        double meanLength = (double) totalLength / paths;
+        double meanProportionalLength = meanLength / maxLength;
+        return new Result(type, lowerBound, paths, meanLength, meanProportionalLength, graph.edgeCount, 0, upperBound);
+    }
+}
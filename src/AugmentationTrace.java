@@ -0,0 +1,177 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Binary trace of augmenting paths, off unless the JVM is started with {@code -Dtrace.file=<path>}.
+ * Call sites test the constant {@link #ENABLED} first, so a disabled trace is compiled away.
+ * Records go into preallocated buffers and full buffers are written to the file by a background
+ * thread; {@link TraceReader} renders the file as the old console text.
+ * <p>
+ * Format, big-endian: the magic int, then records that each start with a type byte:
+ * <pre>
+ * RUN   runId, strategy (short length + UTF-8 bytes), sourceId, sinkId
+ * PATH  runId, iteration, bottleneck, vertexCount, vertexCount vertex ids
+ * END   runId, maxFlow
+ * </pre>
+ */
+public final class AugmentationTrace {
+    static final String FILE_PROPERTY = "trace.file";
+    static final boolean ENABLED = System.getProperty(FILE_PROPERTY) != null;
+
+    static final int MAGIC = 0x41545231; // "ATR1"
+    static final byte RUN = 1;
+    static final byte PATH = 2;
+    static final byte END = 3;
+
+    private static final int BUFFER_SIZE = 1 << 22;
+    private static final int BUFFERS = 3;
+    private static final ByteBuffer CLOSE = ByteBuffer.allocate(0);
+
+    private static final AtomicInteger runIds = new AtomicInteger();
+    private static final BlockingQueue<ByteBuffer> filled = new LinkedBlockingQueue<>();
+    private static final BlockingQueue<ByteBuffer> spare = new LinkedBlockingQueue<>();
+    private static ByteBuffer current;
+    private static Thread writer;
+    private static boolean closed;
+    private static volatile boolean failed;     // the writer died; records are dropped from then on
+
+    static {
+        if (ENABLED) {
+            open(Paths.get(System.getProperty(FILE_PROPERTY)));
+        }
+    }
+
+    private AugmentationTrace() {}
+
+    private static void open(Path file) {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open trace file " + file, e);
+        }
+        for (int i = 1; i < BUFFERS; i++) {
+            spare.add(ByteBuffer.allocateDirect(BUFFER_SIZE));
+        }
+        current = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        current.putInt(MAGIC);
+
+        writer = new Thread(() -> drain(channel), "augmentation-trace-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(AugmentationTrace::close));
+    }
+
+    private static void drain(FileChannel channel) {
+        try (channel) {
+            while (true) {
+                ByteBuffer buffer = filled.take();
+                if (buffer == CLOSE) {
+                    return;
+                }
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                if (buffer.capacity() == BUFFER_SIZE) {
+                    buffer.clear();
+                    spare.add(buffer);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // Nothing returns buffers to spare any more; reserve() sees the flag and stops waiting
+            failed = true;
+            e.printStackTrace();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    static synchronized int startRun(String strategy, int sourceId, int sinkId) {
+        int run = runIds.incrementAndGet();
+        byte[] name = strategy.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = reserve(1 + 4 + 2 + name.length + 8);
+        buffer.put(RUN).putInt(run).putShort((short) name.length).put(name).putInt(sourceId).putInt(sinkId);
+        return run;
+    }
+
+    // Path given as arcs of a ResidualGraph, starting at source
+    static synchronized void recordPath(int run, int iteration, int bottleneck, FlowGraph graph, int source,
+                                        int[] path, int length) {
+        ByteBuffer buffer = reserve(1 + 16 + 4 * (length + 1));
+        buffer.put(PATH).putInt(run).putInt(iteration).putInt(bottleneck).putInt(length + 1);
+        buffer.putInt(graph.id(source));
+        for (int i = 0; i < length; i++) {
+            buffer.putInt(graph.id(graph.head(path[i])));
+        }
+    }
+
+    static synchronized void recordPath(int run, int iteration, int bottleneck, List<Vertex> path) {
+        ByteBuffer buffer = reserve(1 + 16 + 4 * path.size());
+        buffer.put(PATH).putInt(run).putInt(iteration).putInt(bottleneck).putInt(path.size());
+        for (Vertex vertex : path) {
+            buffer.putInt(vertex.id);
+        }
+    }
+
+    static synchronized void endRun(int run, int maxFlow) {
+        reserve(1 + 8).put(END).putInt(run).putInt(maxFlow);
+    }
+
+    // Flushes everything recorded so far and stops the writer; later records are dropped
+    static void close() {
+        synchronized (AugmentationTrace.class) {
+            if (!ENABLED || closed) {
+                return;
+            }
+            closed = true;
+            filled.add(current);
+            filled.add(CLOSE);
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ByteBuffer reserve(int bytes) {
+        if (closed || failed) {
+            return ByteBuffer.allocate(bytes); // discarded
+        }
+        if (current.remaining() >= bytes) {
+            return current;
+        }
+        filled.add(current);
+        if (bytes > BUFFER_SIZE) {
+            current = ByteBuffer.allocateDirect(bytes); // oversized record, not recycled
+            return current;
+        }
+        try {
+            // Polls rather than takes, so a writer that fails while this waits cannot hang the solver
+            ByteBuffer next;
+            while ((next = spare.poll(100, TimeUnit.MILLISECONDS)) == null) {
+                if (failed) {
+                    return ByteBuffer.allocate(bytes); // discarded
+                }
+            }
+            current = next;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a trace buffer", e);
+        }
+        return current;
+    }
+}
@@ -0,0 +1,133 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary on-disk form of a {@link ResidualGraph}. All values are little-endian ints:
+ * <pre>
+ * header   magic, version, n, arcCount, edgeCount
+ * ids      n           original vertex id of each dense index
+ * firstArc n + 1       CSR offsets
+ * head     arcCount
+ * capacity arcCount    0 for reverse arcs
+ * reverse  arcCount
+ * </pre>
+ * Loading memory-maps the file and bulk-copies each section, so no per-edge parsing is needed and
+ * concurrent loaders share the page cache.
+ */
+public class BinaryGraphFormat {
+    static final int MAGIC = 0x4D464731; // "MFG1"
+    static final int VERSION = 1;
+    private static final int HEADER_INTS = 5;
+    private static final long WINDOW = 1L << 30; // bytes mapped at a time, below the 2 GB mapping limit
+
+    // Usage: java BinaryGraphFormat <input.csv> <output.bin>
+    public static void main(String[] args) throws IOException {
+        ResidualGraph graph = Helper.readResidualGraphFromFile(args[0]);
+        write(graph, Paths.get(args[1]));
+        System.out.println("Wrote " + graph.n + " vertices and " + graph.edgeCount + " edges to " + args[1]);
+    }
+
+    static void write(ResidualGraph graph, Path path) throws IOException {
+        int arcs = graph.head.length;
+        long totalBytes = 4L * (HEADER_INTS + graph.n + graph.n + 1 + 3L * arcs);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.READ, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long position = 0;
+            position = writeInts(channel, position, new int[]{MAGIC, VERSION, graph.n, arcs, graph.edgeCount});
+            position = writeInts(channel, position, graph.ids);
+            position = writeInts(channel, position, graph.firstArc);
+            position = writeInts(channel, position, graph.head);
+            position = writeInts(channel, position, graph.capacity);
+            position = writeInts(channel, position, graph.reverse);
+            if (position != totalBytes) {
+                throw new IllegalStateException("Wrote " + position + " bytes, expected " + totalBytes);
+            }
+        }
+    }
+
+    static ResidualGraph read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Header header = readHeader(channel, path);
+            int n = header.n;
+            int arcs = header.arcCount;
+            int edgeCount = header.edgeCount;
+            long position = header.dataOffset;
+
+            int[] ids = new int[n];
+            int[] firstArc = new int[n + 1];
+            int[] head = new int[arcs];
+            int[] capacity = new int[arcs];
+            int[] reverse = new int[arcs];
+            position = readInts(channel, position, ids);
+            position = readInts(channel, position, firstArc);
+            position = readInts(channel, position, head);
+            position = readInts(channel, position, capacity);
+            readInts(channel, position, reverse);
+            return ResidualGraph.fromArrays(ids, firstArc, head, capacity, reverse, edgeCount);
+        }
+    }
+
+    /**
+     * Validated header fields; the sections start at dataOffset in the order listed above.
+     */
+    static final class Header {
+        final int n;
+        final int arcCount;
+        final int edgeCount;
+        final long dataOffset;
+
+        private Header(int n, int arcCount, int edgeCount, long dataOffset) {
+            this.n = n;
+            this.arcCount = arcCount;
+            this.edgeCount = edgeCount;
+            this.dataOffset = dataOffset;
+        }
+    }
+
+    static Header readHeader(FileChannel channel, Path path) throws IOException {
+        int[] header = new int[HEADER_INTS];
+        long position = readInts(channel, 0, header);
+        if (header[0] != MAGIC || header[1] != VERSION) {
+            throw new IOException("Not a version " + VERSION + " binary graph: " + path);
+        }
+        int n = header[2];
+        int arcs = header[3];
+        long expected = 4L * (HEADER_INTS + n + n + 1 + 3L * arcs);
+        if (channel.size() != expected) {
+            throw new IOException("Truncated binary graph: " + path + " has " + channel.size() + " bytes, expected " + expected);
+        }
+        return new Header(n, arcs, header[4], position);
+    }
+
+    private static long writeInts(FileChannel channel, long position, int[] values) throws IOException {
+        int offset = 0;
+        while (offset < values.length) {
+            int count = (int) Math.min(values.length - offset, WINDOW / 4);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, 4L * count);
+            buffer.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().put(values, offset, count);
+            offset += count;
+            position += 4L * count;
+        }
+        return position;
+    }
+
+    private static long readInts(FileChannel channel, long position, int[] values) throws IOException {
+        int offset = 0;
+        while (offset < values.length) {
+            int count = (int) Math.min(values.length - offset, WINDOW / 4);
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, 4L * count);
+            IntBuffer ints = buffer.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+            ints.get(values, offset, count);
+            offset += count;
+            position += 4L * count;
+        }
+        return position;
+    }
+}
@@ -0,0 +1,107 @@
+import java.util.Arrays;
+
+/**
+ * Bucket priority queue over vertices 0..n-1 with small integer keys 0..maxKey, popping the
+ * largest key first. Every queued vertex sits in exactly one bucket, an intrusive doubly-linked
+ * list threaded through per-vertex arrays, so changing a key moves the vertex in place and the
+ * queue never holds stale duplicates.
+ * <p>
+ * The scan for the next non-empty bucket only moves downwards between inserts above it, so for
+ * monotone searches such as widest path (a neighbour's key is at most the key just popped) all pops
+ * together cost O(maxKey + pops). Min-keyed searches can store {@code maxKey - key}.
+ */
+public class BucketQueue {
+    // Above this many buckets the bucket array costs more than a heap; callers should fall back
+    static final int MAX_KEYS = 1 << 20;
+
+    private final int[] bucketHead; // first vertex per key, -1 if empty
+    private final int[] next;
+    private final int[] prev;
+    private final int[] key;        // current key of a queued vertex, -1 if not queued
+    private int top;                // no queued vertex has a key above this
+    private int size;
+
+    BucketQueue(int n, int maxKey) {
+        if (n < 0 || maxKey < 0 || maxKey >= MAX_KEYS) {
+            throw new IllegalArgumentException("Bucket queue needs 0 <= maxKey < " + MAX_KEYS + ": " + maxKey);
+        }
+        bucketHead = new int[maxKey + 1];
+        next = new int[n];
+        prev = new int[n];
+        key = new int[n];
+        Arrays.fill(bucketHead, -1);
+        Arrays.fill(key, -1);
+        top = -1;
+    }
+
+    int maxKey() {
+        return bucketHead.length - 1;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Inserts v, or moves it to the new bucket if it is already queued
+    void put(int v, int newKey) {
+        if (newKey < 0 || newKey >= bucketHead.length) {
+            throw new IllegalArgumentException("Key out of range: " + newKey);
+        }
+        if (key[v] == newKey) {
+            return;
+        }
+        if (key[v] >= 0) {
+            unlink(v);
+        } else {
+            size++;
+        }
+        int first = bucketHead[newKey];
+        next[v] = first;
+        prev[v] = -1;
+        if (first >= 0) {
+            prev[first] = v;
+        }
+        bucketHead[newKey] = v;
+        key[v] = newKey;
+        if (newKey > top) {
+            top = newKey;
+        }
+    }
+
+    // Removes and returns a vertex with the largest key; the queue must not be empty
+    int popMax() {
+        while (bucketHead[top] < 0) {
+            top--;
+        }
+        int v = bucketHead[top];
+        unlink(v);
+        key[v] = -1;
+        size--;
+        return v;
+    }
+
+    // Empties the queue in O(maxKey + size) without touching vertices that were never queued
+    void clear() {
+        for (int k = 0; k <= top && size > 0; k++) {
+            for (int v = bucketHead[k]; v >= 0; v = next[v]) {
+                key[v] = -1;
+                size--;
+            }
+            bucketHead[k] = -1;
+        }
+        top = -1;
+    }
+
+    private void unlink(int v) {
+        int before = prev[v];
+        int after = next[v];
+        if (before >= 0) {
+            next[before] = after;
+        } else {
+            bucketHead[key[v]] = after;
+        }
+        if (after >= 0) {
+            prev[after] = before;
+        }
+    }
+}
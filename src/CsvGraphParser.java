@@ -0,0 +1,103 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Byte-level reader for the {@code u,v:c,v:c} adjacency-list files written by {@link GraphGenerator}.
+ * The file is streamed through one direct buffer and decoded digit by digit straight into a
+ * {@link ResidualGraph.EdgeList}, so nothing is allocated per line or per edge. Empty fields at the
+ * end of a record ({@code 1,2:3,}) are skipped, as the old {@code split(",")} reader did.
+ */
+public class CsvGraphParser {
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    // Which number of the record is being read
+    private static final int TAIL = 0;
+    private static final int HEAD = 1;
+    private static final int CAPACITY = 2;
+
+    static ResidualGraph.EdgeList parse(String fileName) throws IOException {
+        ResidualGraph.EdgeList edges = new ResidualGraph.EdgeList();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        int field = TAIL;
+        int value = 0;
+        boolean hasDigits = false;
+        boolean emptyField = false;   // an empty field was seen, so only more of them may follow in this record
+        int tail = 0;
+        int head = 0;
+        long line = 1;
+
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    byte b = buffer.get();
+                    if (b >= '0' && b <= '9') {
+                        requireDigits(true, !emptyField, line, fileName);
+                        if (value > (Integer.MAX_VALUE - (b - '0')) / 10) {
+                            throw new IOException("Number too large at line " + line + " of " + fileName);
+                        }
+                        value = value * 10 + (b - '0');
+                        hasDigits = true;
+                    } else if (b == ',' && field == HEAD && !hasDigits) {
+                        emptyField = true;
+                    } else if (b == ',') {
+                        requireDigits(hasDigits, field != HEAD, line, fileName);
+                        if (field == TAIL) {
+                            tail = value;
+                            edges.addVertex(tail);
+                        } else {
+                            edges.add(tail, head, value);
+                        }
+                        field = HEAD;
+                        value = 0;
+                        hasDigits = false;
+                    } else if (b == ':') {
+                        requireDigits(hasDigits, field == HEAD && !emptyField, line, fileName);
+                        head = value;
+                        field = CAPACITY;
+                        value = 0;
+                        hasDigits = false;
+                    } else if (b == '\n') {
+                        endRecord(edges, field, value, hasDigits, tail, head, line, fileName);
+                        field = TAIL;
+                        value = 0;
+                        hasDigits = false;
+                        emptyField = false;
+                        line++;
+                    } else if (b != '\r') {
+                        throw new IOException("Unexpected character '" + (char) b + "' at line " + line + " of " + fileName);
+                    }
+                }
+                buffer.clear();
+            }
+        }
+        // Last line may lack a trailing newline
+        endRecord(edges, field, value, hasDigits, tail, head, line, fileName);
+        return edges;
+    }
+
+    private static void endRecord(ResidualGraph.EdgeList edges, int field, int value, boolean hasDigits,
+                                  int tail, int head, long line, String fileName) throws IOException {
+        if (field == TAIL) {
+            if (hasDigits) {
+                edges.addVertex(value); // vertex without edges
+            }
+            return;
+        }
+        if (field == HEAD && !hasDigits) {
+            return; // trailing comma
+        }
+        requireDigits(hasDigits, field == CAPACITY, line, fileName);
+        edges.add(tail, head, value);
+    }
+
+    private static void requireDigits(boolean hasDigits, boolean expectedHere, long line, String fileName) throws IOException {
+        if (!hasDigits || !expectedHere) {
+            throw new IOException("Malformed record at line " + line + " of " + fileName);
+        }
+    }
+}
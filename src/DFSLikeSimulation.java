@@ -1,10 +1,10 @@
 import java.util.*;
 
 public class DFSLikeSimulation {
+    // One probe per thread: a probe holds the search in progress, and sweeps run DFS-Like solves concurrently
+    private static final ThreadLocal<SearchProbe> PROBE = ThreadLocal.withInitial(() -> new SearchProbe("DFS-Like"));
 
     static List<Vertex> dfsLikeDijkstra(Graph graph, Vertex source, Vertex sink) {
-        System.out.println("Inside dijkstra dfs like");
-
         if (graph == null || source == null || sink == null) {
             throw new IllegalArgumentException("Input arguments cannot be null.");
         }
@@ -58,4 +58,47 @@ public class DFSLikeSimulation {
         Collections.reverse(path);
         return path;
     }
+
+    // Each vertex keeps the parent it was discovered from, so the search can stop once the sink is labelled
+    static int[] dfsLikeDijkstra(FlowGraph graph, int source, int sink) {
+        if (graph == null || source < 0 || sink < 0) {
+            throw new IllegalArgumentException("Input arguments cannot be null.");
+        }
+
+        SearchProbe probe = PROBE.get();
+        probe.start();
+        long scanned = 0;
+        long relaxed = 0;
+        int[] parentArc = new int[graph.vertexCount()];
+        Arrays.fill(parentArc, -1);
+        int[] stack = new int[graph.vertexCount()];
+        int top = 0;
+        stack[top++] = source;
+        boolean found = false;
+
+        while (top > 0 && !found) {
+            int u = stack[--top];
+            scanned++;
+            for (int a = graph.firstArc(u), end = graph.firstArc(u + 1); a < end; a++) {
+                int v = graph.head(a);
+                if (graph.residual(a) > 0 && v != source && parentArc[v] == -1) {
+                    parentArc[v] = a;
+                    relaxed++;
+                    if (v == sink) {
+                        found = true;
+                        break;
+                    }
+                    stack[top++] = v;
+                }
+            }
+        }
+
+        if (!found) {
+            probe.finish(false, 0, scanned, relaxed, 0, 0);
+            return new int[0];
+        }
+        int[] path = graph.pathTo(parentArc, source, sink);
+        probe.finish(true, path.length, scanned, relaxed, 0, 0);
+        return path;
+    }
 }
@@ -0,0 +1,146 @@
+import java.util.Arrays;
+
+/**
+ * Dinic's algorithm on any {@link FlowGraph}: a BFS builds the level graph from the source, then
+ * {@link #findPath} walks admissible arcs with current-arc pointers until the level graph holds a
+ * blocking flow. Buffers are allocated once and reused across phases.
+ */
+public class DinicSimulation {
+    private final FlowGraph graph;
+    private final int n;
+    private final int[] level;
+    private final int[] currentArc;
+    private final int[] queue;
+    private long[] layerCut;    // created by the first residualCutBound call
+    private final SearchProbe levelProbe = new SearchProbe("Dinic-BFS");
+    private final SearchProbe pathProbe = new SearchProbe("Dinic");
+
+    final int[] path;   // arcs of the last path found, source to sink
+
+    DinicSimulation(FlowGraph graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Input arguments cannot be null.");
+        }
+        this.graph = graph;
+        this.n = graph.vertexCount();
+        this.level = new int[n];
+        this.currentArc = new int[n];
+        this.queue = new int[n];
+        this.path = new int[n];
+    }
+
+    // BFS over residual arcs; returns false once the sink is no longer reachable
+    boolean buildLevelGraph(int source, int sink) {
+        if (source < 0 || sink < 0) {
+            throw new IllegalArgumentException("Input arguments cannot be null.");
+        }
+        levelProbe.start();
+        long relaxed = 0;
+        Arrays.fill(level, -1);
+        FlowGraph graph = this.graph;
+        int queueHead = 0;
+        int queueTail = 0;
+        queue[queueTail++] = source;
+        level[source] = 0;
+
+        while (queueHead < queueTail) {
+            int u = queue[queueHead++];
+            // Vertices on the sink's level or beyond can never lie on a shortest path
+            if (level[sink] != -1 && level[u] >= level[sink] - 1) {
+                break;
+            }
+            for (int a = graph.firstArc(u), end = graph.firstArc(u + 1); a < end; a++) {
+                int v = graph.head(a);
+                if (graph.residual(a) > 0 && level[v] == -1) {
+                    level[v] = level[u] + 1;
+                    queue[queueTail++] = v;
+                    relaxed++;
+                }
+            }
+        }
+
+        boolean found = source != sink && level[sink] != -1;
+        if (found) {
+            for (int v = 0; v < n; v++) {
+                currentArc[v] = graph.firstArc(v);
+            }
+        }
+        return levelProbe.finish(found, found ? level[sink] : 0, queueHead, relaxed, 0, 0);
+    }
+
+    // Smallest residual capacity of a source-side cut seen by the last BFS: every set of levels 0..k
+    // below the sink's level, plus the single-vertex sink side. Current flow plus this bounds the
+    // maximum flow from above. Only valid right after buildLevelGraph returned true, since findPath
+    // drops dead ends from the levels.
+    long residualCutBound(int sink) {
+        int sinkLevel = level[sink];
+        if (layerCut == null) {
+            layerCut = new long[n];
+        }
+        Arrays.fill(layerCut, 0, sinkLevel, 0);
+        FlowGraph graph = this.graph;
+
+        // Levels below sinkLevel - 1 were fully expanded, so their residual arcs leave the level set
+        // only towards the next level; the last one may also reach unlabelled vertices
+        for (int u = 0; u < n; u++) {
+            int k = level[u];
+            if (k < 0 || k >= sinkLevel) {
+                continue;
+            }
+            for (int a = graph.firstArc(u), end = graph.firstArc(u + 1); a < end; a++) {
+                int v = graph.head(a);
+                int r = graph.residual(a);
+                if (r > 0 && (level[v] < 0 || level[v] > k)) {
+                    layerCut[k] += r;
+                }
+            }
+        }
+
+        long bound = 0;
+        for (int a = graph.firstArc(sink), end = graph.firstArc(sink + 1); a < end; a++) {
+            bound += graph.residual(graph.reverse(a));
+        }
+        for (int k = 0; k < sinkLevel; k++) {
+            bound = Math.min(bound, layerCut[k]);
+        }
+        return bound;
+    }
+
+    // Next source-sink path in the current level graph, written to path; returns its arc count or 0
+    // when the level graph is blocked. Saturated and dead-end arcs are skipped for the rest of the phase.
+    int findPath(int source, int sink) {
+        FlowGraph graph = this.graph;
+        pathProbe.start();
+        long steps = 0;
+        long advances = 0;
+        int length = 0;
+        int u = source;
+
+        while (u != sink) {
+            steps++;
+            int end = graph.firstArc(u + 1);
+            int a = currentArc[u];
+            while (a < end && (graph.residual(a) == 0 || level[graph.head(a)] != level[u] + 1)) {
+                a++;
+            }
+            currentArc[u] = a;
+
+            if (a < end) {
+                path[length++] = a;
+                u = graph.head(a);
+                advances++;
+            } else {
+                // Dead end: drop u from the level graph and retreat along the path
+                if (u == source) {
+                    pathProbe.finish(false, 0, steps, advances, 0, 0);
+                    return 0;
+                }
+                level[u] = -1;
+                u = graph.tail(path[--length]);
+                currentArc[u]++;
+            }
+        }
+        pathProbe.finish(true, length, steps, advances, 0, 0);
+        return length;
+    }
+}
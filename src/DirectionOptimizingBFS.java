@@ -0,0 +1,147 @@
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Level-synchronous BFS over any {@link FlowGraph} that switches between top-down steps (scan the
+ * arcs of the frontier) and bottom-up steps (every unreached vertex looks for a parent in the
+ * frontier and stops at the first one). Bottom-up pays off once the frontier holds a large share of
+ * the remaining arcs, which happens on the dense r = 0.5 graphs; sparse large-diameter graphs stay
+ * top-down. Switching follows Beamer et al.: go bottom-up when the frontier's arcs exceed 1/ALPHA
+ * of the unexplored arcs, and back when the frontier drops below n/BETA vertices.
+ * <p>
+ * The search runs either over input edges or over arcs with residual capacity. Buffers are
+ * allocated once, so one instance serves any number of searches on the same graph.
+ */
+public class DirectionOptimizingBFS {
+    private static final int ALPHA = 14;
+    private static final int BETA = 24;
+
+    private final FlowGraph graph;
+    private int[] frontier;
+    private int[] next;
+
+    final int[] distance;   // BFS level of each vertex in the last search, -1 if unreached
+    int reached;            // vertices reached, including the source
+    int farthest;           // first vertex discovered on the last level
+    int eccentricity;       // level of farthest
+    int bottomUpLevels;     // levels expanded bottom-up over all searches so far
+
+    DirectionOptimizingBFS(FlowGraph graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Input arguments cannot be null.");
+        }
+        int n = graph.vertexCount();
+        this.graph = graph;
+        this.distance = new int[n];
+        this.frontier = new int[n];
+        this.next = new int[n];
+    }
+
+    // Search over input edges (not reverse arcs); returns the number of reached vertices
+    int overEdges(int source) {
+        return run(source, false);
+    }
+
+    // Search over arcs with residual capacity; after a max flow the reached vertices are the source side of a min cut
+    int overResidual(int source) {
+        return run(source, true);
+    }
+
+    // Double sweeps over input edges from sampled sources; a lower bound on the directed diameter
+    int estimateDiameter(int samples, Random random) {
+        int diameter = 0;
+        for (int i = 0; i < samples; i++) {
+            int source = graph.getRandomVertex(random);
+            if (source < 0) {
+                break;
+            }
+            overEdges(source);
+            diameter = Math.max(diameter, eccentricity);
+            overEdges(farthest);
+            diameter = Math.max(diameter, eccentricity);
+        }
+        return diameter;
+    }
+
+    // An arc is usable iff its weight is positive: capacity for input edges, residual for residual arcs
+    private int run(int source, boolean overResidual) {
+        FlowGraph graph = this.graph;
+        int n = graph.vertexCount();
+        if (source < 0 || source >= n) {
+            throw new IllegalArgumentException("Input arguments cannot be null.");
+        }
+
+        Arrays.fill(distance, -1);
+        distance[source] = 0;
+        frontier[0] = source;
+        int frontierSize = 1;
+        reached = 1;
+        farthest = source;
+        eccentricity = 0;
+
+        long unexploredArcs = graph.firstArc(n) - degree(source);
+        boolean bottomUp = false;
+        for (int level = 0; frontierSize > 0; level++) {
+            long frontierArcs = 0;
+            for (int i = 0; i < frontierSize; i++) {
+                frontierArcs += degree(frontier[i]);
+            }
+            if (!bottomUp && frontierArcs > unexploredArcs / ALPHA) {
+                bottomUp = true;
+            } else if (bottomUp && frontierSize < n / BETA) {
+                bottomUp = false;
+            }
+
+            int nextSize = 0;
+            if (bottomUp) {
+                bottomUpLevels++;
+                for (int v = 0; v < n; v++) {
+                    if (distance[v] != -1) {
+                        continue;
+                    }
+                    // Arc a leaves v; its pair reverse(a) is the candidate arc into v
+                    for (int a = graph.firstArc(v), end = graph.firstArc(v + 1); a < end; a++) {
+                        if (distance[graph.head(a)] == level && weight(graph.reverse(a), overResidual) > 0) {
+                            distance[v] = level + 1;
+                            next[nextSize++] = v;
+                            break;
+                        }
+                    }
+                }
+            } else {
+                for (int i = 0; i < frontierSize; i++) {
+                    int u = frontier[i];
+                    for (int a = graph.firstArc(u), end = graph.firstArc(u + 1); a < end; a++) {
+                        int v = graph.head(a);
+                        if (weight(a, overResidual) > 0 && distance[v] == -1) {
+                            distance[v] = level + 1;
+                            next[nextSize++] = v;
+                        }
+                    }
+                }
+            }
+
+            if (nextSize > 0) {
+                reached += nextSize;
+                farthest = next[0];
+                eccentricity = level + 1;
+                for (int i = 0; i < nextSize; i++) {
+                    unexploredArcs -= degree(next[i]);
+                }
+            }
+            int[] swap = frontier;
+            frontier = next;
+            next = swap;
+            frontierSize = nextSize;
+        }
+        return reached;
+    }
+
+    private int weight(int arc, boolean overResidual) {
+        return overResidual ? graph.residual(arc) : graph.capacity(arc);
+    }
+
+    private int degree(int v) {
+        return graph.firstArc(v + 1) - graph.firstArc(v);
+    }
+}
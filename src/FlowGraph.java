@@ -0,0 +1,113 @@
+import java.util.Random;
+
+/**
+ * Accessor view of a CSR residual graph: dense vertices 0..n-1, each with an outgoing arc range,
+ * and every arc paired with its reverse arc. {@link ResidualGraph} implements it over heap arrays
+ * and {@link OffHeapResidualGraph} over direct buffers. The augmenting-path searches, Dinic and the
+ * {@link FordFulkerson} steps are written against these accessors, so every one of them runs on
+ * either; on a ResidualGraph each accessor is a single array load that the JIT inlines.
+ */
+interface FlowGraph {
+    int vertexCount();
+
+    // Number of input edges, i.e. forward arcs
+    int edgeCount();
+
+    // Original vertex id of a dense index
+    int id(int v);
+
+    // Dense index of an original vertex id, -1 if absent
+    int indexOf(int id);
+
+    // Arcs of vertex v are firstArc(v) .. firstArc(v + 1) - 1
+    int firstArc(int v);
+
+    int head(int arc);
+
+    int reverse(int arc);
+
+    // Original capacity, 0 for reverse arcs
+    int capacity(int arc);
+
+    int residual(int arc);
+
+    // Sends amount units along arc: its residual drops and the paired arc's residual grows
+    void push(int arc, int amount);
+
+    // Back to the zero flow
+    void resetResidual();
+
+    // Vertices with at least one outgoing input edge; implementations build it once per topology
+    // with findEligibleSources and keep it
+    int[] eligibleSources();
+
+    // Vertex with at least one outgoing input edge, or -1 if there is none
+    default int getRandomVertex(Random random) {
+        int[] sources = eligibleSources();
+        return sources.length == 0 ? -1 : sources[random.nextInt(sources.length)];
+    }
+
+    static int[] findEligibleSources(FlowGraph graph) {
+        int n = graph.vertexCount();
+        int count = 0;
+        for (int v = 0; v < n; v++) {
+            if (hasOutgoingEdge(graph, v)) {
+                count++;
+            }
+        }
+        int[] sources = new int[count];
+        count = 0;
+        for (int v = 0; v < n; v++) {
+            if (hasOutgoingEdge(graph, v)) {
+                sources[count++] = v;
+            }
+        }
+        return sources;
+    }
+
+    private static boolean hasOutgoingEdge(FlowGraph graph, int v) {
+        for (int a = graph.firstArc(v), end = graph.firstArc(v + 1); a < end; a++) {
+            if (graph.capacity(a) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    default int tail(int arc) {
+        return head(reverse(arc));
+    }
+
+    // Largest arc capacity, which also bounds every residual value
+    default int maxCapacity() {
+        int max = 0;
+        for (int a = 0, arcs = firstArc(vertexCount()); a < arcs; a++) {
+            max = Math.max(max, capacity(a));
+        }
+        return max;
+    }
+
+    // Walks parentArc back from the sink and returns the arcs of the path in source-to-sink order
+    default int[] pathTo(int[] parentArc, int source, int sink) {
+        int length = 0;
+        for (int v = sink; v != source; v = tail(parentArc[v])) {
+            length++;
+        }
+        int[] path = new int[length];
+        pathTo(parentArc, source, sink, path);
+        return path;
+    }
+
+    // Same as above but writes into a caller-owned buffer of at least vertexCount() entries; returns the arc count
+    default int pathTo(int[] parentArc, int source, int sink, int[] path) {
+        int length = 0;
+        for (int v = sink; v != source; v = tail(parentArc[v])) {
+            length++;
+        }
+        int i = length;
+        for (int v = sink; v != source; v = tail(parentArc[v])) {
+            path[--i] = parentArc[v];
+        }
+        return length;
+    }
+}
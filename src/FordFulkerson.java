@@ -1,4 +1,5 @@
 import java.util.List;
+import jdk.jfr.FlightRecorder;
 
 public class FordFulkerson {
      public int findMinCapacity(List<Vertex> path) {
@@ -16,6 +17,7 @@ public class FordFulkerson {
     }
 
     public void updateResidualGraph(List<Vertex> path, int minCapacity) {
+        ResidualUpdateEvent event = beginUpdate();
         for (int i = 0; i < path.size() - 1; i++) {
             Vertex u = path.get(i);
             Vertex v = path.get(i + 1);
@@ -35,5 +37,59 @@ public class FordFulkerson {
                 v.neighbors.put(u, forwardFlow);
             }
         }
+        endUpdate(event, path.size() - 1, minCapacity);
+    }
+
+    public int findMinCapacity(FlowGraph graph, int[] path) {
+        return findMinCapacity(graph, path, path.length);
+    }
+
+    // Uses only the first length arcs of path, so searches can hand over a reused buffer
+    public int findMinCapacity(FlowGraph graph, int[] path, int length) {
+        int minCapacity = Integer.MAX_VALUE;
+
+        for (int i = 0; i < length; i++) {
+            minCapacity = Math.min(minCapacity, graph.residual(path[i]));
+        }
+
+        return minCapacity;
+    }
+
+    public void updateResidualGraph(FlowGraph graph, int[] path, int minCapacity) {
+        updateResidualGraph(graph, path, path.length, minCapacity);
+    }
+
+    // Every arc is stored with its paired reverse arc, so no lookup or insertion is needed
+    public void updateResidualGraph(FlowGraph graph, int[] path, int length, int minCapacity) {
+        ResidualUpdateEvent event = beginUpdate();
+        for (int i = 0; i < length; i++) {
+            graph.push(path[i], minCapacity);
+        }
+        endUpdate(event, length, minCapacity);
+    }
+
+    // Every update counts as an augmentation; the JFR event is only created while it is recorded
+    private static ResidualUpdateEvent beginUpdate() {
+        if (!FlightRecorder.isInitialized()) {
+            return null;
+        }
+        ResidualUpdateEvent event = new ResidualUpdateEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    private static void endUpdate(ResidualUpdateEvent event, int pathLength, int amount) {
+        SolverMetrics.augmentations.increment();
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.pathLength = pathLength;
+                event.amount = amount;
+                event.commit();
+            }
+        }
     }
 }
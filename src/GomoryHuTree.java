@@ -0,0 +1,220 @@
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Gusfield's equivalent flow tree for the undirected interpretation of a graph: n - 1 maximum flow
+ * computations build a tree on the vertices in which the minimum cut between any two vertices is
+ * the smallest weight on their tree path. Flows are computed with Dinic, the fastest exact engine
+ * in the project.
+ * <p>
+ * Gusfield's iterations depend on each other only through {@code parent}: the cut for vertex s
+ * may re-hang later vertices onto s. Rounds therefore solve the next {@code threads} vertices in
+ * parallel against their current parents and commit them in order; a vertex whose parent was
+ * changed by an earlier commit of the same round is solved again in the next round. Geometric
+ * graphs mostly have small cuts around low-degree vertices, so few speculations are wasted.
+ */
+public class GomoryHuTree {
+    final int n;
+    final int[] parent;     // tree parent of v, always a smaller index; parent[0] == -1
+    final int[] weight;     // cut value between v and parent[v]
+    private final int[] depth;
+    int flows;              // maximum flow computations, including repeated speculative ones
+
+    private GomoryHuTree(int[] parent, int[] weight, int flows) {
+        this.n = parent.length;
+        this.parent = parent;
+        this.weight = weight;
+        this.flows = flows;
+        this.depth = new int[n];
+        for (int v = 1; v < n; v++) {
+            depth[v] = depth[parent[v]] + 1;
+        }
+    }
+
+    // Minimum cut value between dense vertices u and v, by walking the tree path; O(depth)
+    int minCut(int u, int v) {
+        if (u == v) {
+            throw new IllegalArgumentException("Source and sink must differ.");
+        }
+        int min = Integer.MAX_VALUE;
+        while (u != v) {
+            if (depth[u] >= depth[v]) {
+                min = Math.min(min, weight[u]);
+                u = parent[u];
+            } else {
+                min = Math.min(min, weight[v]);
+                v = parent[v];
+            }
+        }
+        return min;
+    }
+
+    // Every edge u -> v of capacity c becomes c in both directions; antiparallel edges add up
+    static ResidualGraph undirected(ResidualGraph graph) {
+        ResidualGraph.EdgeList edges = new ResidualGraph.EdgeList();
+        for (int v = 0; v < graph.n; v++) {
+            edges.addVertex(graph.ids[v]);
+        }
+        for (int u = 0; u < graph.n; u++) {
+            for (int a = graph.firstArc[u]; a < graph.firstArc[u + 1]; a++) {
+                if (graph.isForward(a)) {
+                    edges.add(graph.ids[u], graph.ids[graph.head[a]], graph.capacity[a]);
+                    edges.add(graph.ids[graph.head[a]], graph.ids[u], graph.capacity[a]);
+                }
+            }
+        }
+        return edges.build();
+    }
+
+    // graph must be symmetric, e.g. from undirected(); its residual array is left untouched
+    static GomoryHuTree build(ResidualGraph graph, int threads) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Input arguments cannot be null.");
+        }
+        int n = graph.n;
+        int[] parent = new int[n];
+        int[] weight = new int[n];
+        if (n > 0) {
+            parent[0] = -1;
+        }
+
+        int slots = Math.max(1, Math.min(threads, n - 1));
+        CutWorker[] workers = new CutWorker[slots];
+        for (int j = 0; j < slots; j++) {
+            workers[j] = new CutWorker(graph);
+        }
+        ExecutorService executor = slots > 1 ? Executors.newFixedThreadPool(slots) : null;
+        int flows = 0;
+        try {
+            int s = 1;
+            while (s < n) {
+                int k = Math.min(slots, n - s);
+                List<Callable<Void>> round = new ArrayList<>(k);
+                for (int j = 0; j < k; j++) {
+                    CutWorker worker = workers[j];
+                    worker.source = s + j;
+                    worker.sink = parent[s + j];
+                    round.add(worker);
+                }
+                run(executor, round);
+                flows += k;
+
+                // Commit in order; stop at the first vertex re-hung by an earlier commit of this round
+                int j = 0;
+                for (; j < k && parent[s + j] == workers[j].sink; j++) {
+                    CutWorker worker = workers[j];
+                    int v = s + j;
+                    int t = parent[v];
+                    weight[v] = worker.cutValue;
+                    for (int i = v + 1; i < n; i++) {
+                        if (parent[i] == t && worker.bfs.distance[i] >= 0) {
+                            parent[i] = v;
+                        }
+                    }
+                }
+                s += j;
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+        return new GomoryHuTree(parent, weight, flows);
+    }
+
+    private static void run(ExecutorService executor, List<Callable<Void>> round) {
+        try {
+            if (executor == null || round.size() == 1) {
+                for (Callable<Void> task : round) {
+                    task.call();
+                }
+                return;
+            }
+            for (Future<Void> future : executor.invokeAll(round)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while building the cut tree", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Cut computation failed", e.getCause());
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Cut computation failed", e);
+        }
+    }
+
+    /**
+     * One parallel slot: its own residual copy, Dinic instance and BFS, reused every round.
+     */
+    private static class CutWorker implements Callable<Void> {
+        private final ResidualGraph graph;
+        private final DinicSimulation dinic;
+        private final FordFulkerson f = new FordFulkerson();
+        final DirectionOptimizingBFS bfs; // after call(), reached vertices are the source side of the cut
+
+        int source;
+        int sink;
+        int cutValue;
+
+        CutWorker(ResidualGraph topology) {
+            this.graph = topology.copy();
+            this.dinic = new DinicSimulation(graph);
+            this.bfs = new DirectionOptimizingBFS(graph);
+        }
+
+        @Override
+        public Void call() {
+            graph.resetResidual();
+            int maxFlow = 0;
+            while (dinic.buildLevelGraph(source, sink)) {
+                int pathLength;
+                while ((pathLength = dinic.findPath(source, sink)) > 0) {
+                    int minCapacity = f.findMinCapacity(graph, dinic.path, pathLength);
+                    f.updateResidualGraph(graph, dinic.path, pathLength, minCapacity);
+                    maxFlow += minCapacity;
+                }
+            }
+            cutValue = maxFlow;
+
+            // The source side of the minimum cut is everything still reachable in the residual graph
+            bfs.overResidual(source);
+            return null;
+        }
+    }
+
+    /**
+     * Builds the tree for the undirected interpretation of a graph file and prints its edges.
+     * Usage: GomoryHuTree graph.csv [threads [sourceId sinkId]]
+     */
+    public static void main(String[] args) throws IOException {
+        SolverMetrics.publish();
+        ResidualGraph graph = undirected(Helper.readResidualGraph(args[0]));
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        long start = System.nanoTime();
+        GomoryHuTree tree = build(graph, threads);
+        double millis = (System.nanoTime() - start) / 1_000_000.0;
+
+        if (args.length > 3) {
+            int source = graph.indexOf(Integer.parseInt(args[2]));
+            int sink = graph.indexOf(Integer.parseInt(args[3]));
+            if (source < 0 || sink < 0) {
+                throw new IllegalArgumentException("Unknown vertex id");
+            }
+            System.out.println("Minimum Cut " + args[2] + " - " + args[3] + ": " + tree.minCut(source, sink));
+        } else {
+            for (int v = 1; v < tree.n; v++) {
+                System.out.println(graph.ids[v] + "," + graph.ids[tree.parent[v]] + "," + tree.weight[v]);
+            }
+        }
+        System.out.printf("Cut tree over %d vertices: %d flows on %d threads in %.1f ms%n", tree.n, tree.flows, threads, millis);
+    }
+}
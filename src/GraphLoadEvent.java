@@ -0,0 +1,53 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("maxflow.GraphLoad")
+@Label("Graph Load")
+@Category("Max Flow")
+@Description("Reading a graph file into memory")
+class GraphLoadEvent extends jdk.jfr.Event {
+    @Label("File")
+    String file;
+
+    @Label("Format")
+    @Description("csv, bin or mapped")
+    String format;
+
+    @Label("Vertices")
+    int vertices;
+
+    @Label("Edges")
+    int edges;
+
+    // A begun event while a recording has it enabled, otherwise null; looking up the event type
+    // would start JFR, so nothing is created until a recording has
+    static GraphLoadEvent beginLoad() {
+        if (!FlightRecorder.isInitialized()) {
+            return null;
+        }
+        GraphLoadEvent event = new GraphLoadEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    // Ends and commits an event from beginLoad; does nothing for null
+    static void endLoad(GraphLoadEvent event, String file, String format, int vertices, int edges) {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.file = file;
+            event.format = format;
+            event.vertices = vertices;
+            event.edges = edges;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,433 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Shrinks a flow network for one (source, sink) pair before it is solved, keeping the maximum flow:
+ * <ul>
+ * <li>vertices that are not reachable from the source or cannot reach the sink are dropped;</li>
+ * <li>any other vertex with a single neighbour is a dead end and is dropped;</li>
+ * <li>a chain a - v1 - ... - vk - b of vertices with exactly two neighbours each is contracted to
+ * the arcs a->b and b->a, each with the smallest capacity along its direction;</li>
+ * <li>parallel arcs are merged into one arc with the summed capacity;</li>
+ * <li>the remaining vertices are renumbered densely by {@link ResidualGraph.EdgeList}.</li>
+ * </ul>
+ * Merging can create new chains and contraction new parallel arcs, so both repeat until neither
+ * changes the graph. Every reduced arc remembers the original arcs that bound it, so a minimum cut
+ * of the reduced graph maps back to original edges with {@link #minCut}.
+ */
+public class GraphReduction {
+    private static final int KEEP = 0;
+    private static final int CHAIN = 1;
+    private static final int DEAD = 2;
+
+    private final ResidualGraph original;
+    private final int originalSource;
+    private final int originalSink;
+
+    // Current edges over original vertex indices; after reduction sorted by (tail, head)
+    private int[] tails;
+    private int[] heads;
+    private long[] capacities;
+    private int[] originFirst;      // original forward arcs bounding each edge, linked through originNext
+    private int[] originLast;
+    private int edgeCount;
+    private final int[] originNext;
+
+    final ResidualGraph graph;      // the reduced graph, ready to solve
+    final int source;               // dense indices in graph
+    final int sink;
+
+    // Statistics
+    int prunedVertices;
+    int contractedVertices;
+    int mergedArcs;
+    int rounds;
+
+    private GraphReduction(ResidualGraph original, int source, int sink) {
+        this.original = original;
+        this.originalSource = source;
+        this.originalSink = sink;
+        this.originNext = new int[original.head.length];
+        Arrays.fill(originNext, -1);
+
+        prune();
+        while (true) {
+            rounds++;
+            merge();
+            if (!contract()) {
+                break;
+            }
+        }
+
+        ResidualGraph.EdgeList edges = new ResidualGraph.EdgeList();
+        edges.addVertex(original.ids[source]);
+        edges.addVertex(original.ids[sink]);
+        for (int e = 0; e < edgeCount; e++) {
+            // Merged capacities can pass int; flows are ints throughout, so clamp
+            edges.add(original.ids[tails[e]], original.ids[heads[e]], (int) Math.min(capacities[e], Integer.MAX_VALUE));
+        }
+        this.graph = edges.build();
+        this.source = graph.indexOf(original.ids[source]);
+        this.sink = graph.indexOf(original.ids[sink]);
+    }
+
+    // source and sink are dense indices in graph, which is only read
+    static GraphReduction reduce(ResidualGraph graph, int source, int sink) {
+        if (graph == null || source < 0 || sink < 0) {
+            throw new IllegalArgumentException("Input arguments cannot be null.");
+        }
+        if (source == sink) {
+            throw new IllegalArgumentException("Source and sink must differ.");
+        }
+        return new GraphReduction(graph, source, sink);
+    }
+
+    /**
+     * Original edges {tailId, headId, capacity} of a minimum cut. solved is a copy of graph that a
+     * solver has run to a maximum flow; its source side is read from the residual. The capacities
+     * add up to the maximum flow and removing the edges disconnects source from sink in the
+     * original graph.
+     */
+    List<int[]> minCut(ResidualGraph solved) {
+        if (solved == null) {
+            throw new IllegalArgumentException("Input arguments cannot be null.");
+        }
+        if (solved.n != graph.n || solved.head.length != graph.head.length) {
+            throw new IllegalArgumentException("Residual does not belong to this reduced graph.");
+        }
+        // The source side is everything still reachable in the residual graph
+        DirectionOptimizingBFS bfs = new DirectionOptimizingBFS(solved);
+        bfs.overResidual(source);
+        int[] distance = bfs.distance;
+
+        List<int[]> cut = new ArrayList<>();
+        for (int u = 0; u < solved.n; u++) {
+            if (distance[u] < 0) {
+                continue;
+            }
+            for (int a = solved.firstArc[u]; a < solved.firstArc[u + 1]; a++) {
+                if (solved.isForward(a) && distance[solved.head[a]] < 0) {
+                    int e = findEdge(original.indexOf(solved.ids[u]), original.indexOf(solved.ids[solved.head[a]]));
+                    for (int arc = originFirst[e]; arc >= 0; arc = originNext[arc]) {
+                        cut.add(new int[] {original.ids[original.tail(arc)], original.ids[original.head[arc]], original.capacity[arc]});
+                    }
+                }
+            }
+        }
+        return cut;
+    }
+
+    // Binary search over the final edges, which merge() left sorted by (tail, head)
+    private int findEdge(int u, int v) {
+        int low = 0;
+        int high = edgeCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = tails[mid] != u ? Integer.compare(tails[mid], u) : Integer.compare(heads[mid], v);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        throw new IllegalStateException("No reduced edge " + original.ids[u] + " -> " + original.ids[v]);
+    }
+
+    // Keeps the input edges between vertices that lie on some source-sink path
+    private void prune() {
+        int n = original.n;
+        boolean[] forward = reach(originalSource, true);
+        boolean[] backward = reach(originalSink, false);
+        if (!forward[originalSink]) {
+            Arrays.fill(forward, false);    // no flow at all: keep just the two endpoints
+        }
+
+        int kept = 0;
+        for (int v = 0; v < n; v++) {
+            if (forward[v] && backward[v]) {
+                kept++;
+            }
+        }
+        prunedVertices = n - Math.max(kept, 2);
+
+        tails = new int[original.edgeCount];
+        heads = new int[original.edgeCount];
+        capacities = new long[original.edgeCount];
+        originFirst = new int[original.edgeCount];
+        originLast = new int[original.edgeCount];
+        edgeCount = 0;
+        for (int u = 0; u < n; u++) {
+            if (!forward[u] || !backward[u]) {
+                continue;
+            }
+            for (int a = original.firstArc[u]; a < original.firstArc[u + 1]; a++) {
+                int v = original.head[a];
+                if (original.isForward(a) && forward[v] && backward[v]) {
+                    tails[edgeCount] = u;
+                    heads[edgeCount] = v;
+                    capacities[edgeCount] = original.capacity[a];
+                    originFirst[edgeCount] = a;
+                    originLast[edgeCount] = a;
+                    edgeCount++;
+                }
+            }
+        }
+    }
+
+    // BFS over input edges, along them from start or against them towards start
+    private boolean[] reach(int start, boolean alongEdges) {
+        boolean[] reached = new boolean[original.n];
+        int[] queue = new int[original.n];
+        int queueHead = 0;
+        int queueTail = 0;
+        queue[queueTail++] = start;
+        reached[start] = true;
+        while (queueHead < queueTail) {
+            int u = queue[queueHead++];
+            for (int a = original.firstArc[u]; a < original.firstArc[u + 1]; a++) {
+                int v = original.head[a];
+                boolean edge = alongEdges ? original.isForward(a) : original.isForward(original.reverse[a]);
+                if (edge && !reached[v]) {
+                    reached[v] = true;
+                    queue[queueTail++] = v;
+                }
+            }
+        }
+        return reached;
+    }
+
+    // Sorts edges by (tail, head) with two counting passes, then sums each run of parallel arcs
+    private void merge() {
+        int n = original.n;
+        int[] byHead = countingSort(identity(edgeCount), heads, n);
+        int[] order = countingSort(byHead, tails, n);
+
+        int[] newTails = new int[edgeCount];
+        int[] newHeads = new int[edgeCount];
+        long[] newCapacities = new long[edgeCount];
+        int[] newFirst = new int[edgeCount];
+        int[] newLast = new int[edgeCount];
+        int count = 0;
+        for (int i = 0; i < edgeCount; i++) {
+            int e = order[i];
+            if (tails[e] == heads[e] || capacities[e] == 0) {
+                continue;
+            }
+            if (count > 0 && newTails[count - 1] == tails[e] && newHeads[count - 1] == heads[e]) {
+                newCapacities[count - 1] += capacities[e];
+                originNext[newLast[count - 1]] = originFirst[e];
+                newLast[count - 1] = originLast[e];
+                mergedArcs++;
+                continue;
+            }
+            newTails[count] = tails[e];
+            newHeads[count] = heads[e];
+            newCapacities[count] = capacities[e];
+            newFirst[count] = originFirst[e];
+            newLast[count] = originLast[e];
+            count++;
+        }
+        tails = newTails;
+        heads = newHeads;
+        capacities = newCapacities;
+        originFirst = newFirst;
+        originLast = newLast;
+        edgeCount = count;
+    }
+
+    // Removes dead ends and contracts two-neighbour chains; returns false if there were none
+    private boolean contract() {
+        int n = original.n;
+        // Incident edges of each vertex in both directions
+        int[] incidentStart = new int[n + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            incidentStart[tails[e] + 1]++;
+            incidentStart[heads[e] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            incidentStart[v + 1] += incidentStart[v];
+        }
+        int[] incident = new int[2 * edgeCount];
+        int[] next = Arrays.copyOf(incidentStart, n);
+        for (int e = 0; e < edgeCount; e++) {
+            incident[next[tails[e]]++] = e;
+            incident[next[heads[e]]++] = e;
+        }
+
+        // After merging a neighbour is joined by at most two edges, so more than four means KEEP
+        int[] kind = new int[n];
+        int removed = 0;
+        for (int v = 0; v < n; v++) {
+            int degree = incidentStart[v + 1] - incidentStart[v];
+            if (v == originalSource || v == originalSink || degree == 0 || degree > 4) {
+                continue;
+            }
+            int first = -1;
+            int second = -1;
+            boolean more = false;
+            for (int i = incidentStart[v]; i < incidentStart[v + 1]; i++) {
+                int w = other(incident[i], v);
+                if (first < 0 || w == first) {
+                    first = w;
+                } else if (second < 0 || w == second) {
+                    second = w;
+                } else {
+                    more = true;
+                }
+            }
+            if (!more) {
+                kind[v] = second < 0 ? DEAD : CHAIN;
+                removed++;
+            }
+        }
+        if (removed == 0) {
+            return false;
+        }
+        contractedVertices += removed;
+
+        int[] newTails = new int[edgeCount];
+        int[] newHeads = new int[edgeCount];
+        long[] newCapacities = new long[edgeCount];
+        int[] newFirst = new int[edgeCount];
+        int[] newLast = new int[edgeCount];
+        int count = 0;
+        for (int e = 0; e < edgeCount; e++) {
+            if (kind[tails[e]] == KEEP && kind[heads[e]] == KEEP) {
+                newTails[count] = tails[e];
+                newHeads[count] = heads[e];
+                newCapacities[count] = capacities[e];
+                newFirst[count] = originFirst[e];
+                newLast[count] = originLast[e];
+                count++;
+            }
+        }
+
+        // Walk every chain from a kept end; the bottleneck edge of each direction stands for the chain
+        boolean[] walked = new boolean[n];
+        for (int a = 0; a < n; a++) {
+            if (kind[a] != KEEP) {
+                continue;
+            }
+            for (int i = incidentStart[a]; i < incidentStart[a + 1]; i++) {
+                int start = other(incident[i], a);
+                if (kind[start] != CHAIN || walked[start]) {
+                    continue;
+                }
+                int forward = -1;       // bottleneck edge of the a -> end direction
+                int backward = -1;
+                boolean forwardOpen = true; // every step so far has an edge in that direction
+                boolean backwardOpen = true;
+                int previous = a;
+                int current = start;
+                int end;
+                while (true) {
+                    walked[current] = true;
+                    int along = -1;
+                    int against = -1;
+                    int following = -1;
+                    for (int j = incidentStart[current]; j < incidentStart[current + 1]; j++) {
+                        int e = incident[j];
+                        int w = other(e, current);
+                        if (w != previous) {
+                            following = w;
+                        } else if (heads[e] == current) {
+                            along = e;
+                        } else {
+                            against = e;
+                        }
+                    }
+                    forwardOpen &= along >= 0;
+                    backwardOpen &= against >= 0;
+                    forward = forwardOpen ? bottleneck(forward, along) : -1;
+                    backward = backwardOpen ? bottleneck(backward, against) : -1;
+                    if (kind[following] != CHAIN || walked[following]) {
+                        end = following;
+                        break;
+                    }
+                    previous = current;
+                    current = following;
+                }
+
+                // Last step, from the final chain vertex to the far end
+                int along = -1;
+                int against = -1;
+                for (int j = incidentStart[current]; j < incidentStart[current + 1]; j++) {
+                    int e = incident[j];
+                    if (other(e, current) == end) {
+                        if (tails[e] == current) {
+                            along = e;
+                        } else {
+                            against = e;
+                        }
+                    }
+                }
+                forwardOpen &= along >= 0;
+                backwardOpen &= against >= 0;
+                forward = forwardOpen ? bottleneck(forward, along) : -1;
+                backward = backwardOpen ? bottleneck(backward, against) : -1;
+
+                if (kind[end] != KEEP || end == a) {
+                    continue;   // dead end or a loop back to a carries no source-sink flow
+                }
+                if (forwardOpen) {
+                    newTails[count] = a;
+                    newHeads[count] = end;
+                    newCapacities[count] = capacities[forward];
+                    newFirst[count] = originFirst[forward];
+                    newLast[count] = originLast[forward];
+                    count++;
+                }
+                if (backwardOpen) {
+                    newTails[count] = end;
+                    newHeads[count] = a;
+                    newCapacities[count] = capacities[backward];
+                    newFirst[count] = originFirst[backward];
+                    newLast[count] = originLast[backward];
+                    count++;
+                }
+            }
+        }
+        tails = newTails;
+        heads = newHeads;
+        capacities = newCapacities;
+        originFirst = newFirst;
+        originLast = newLast;
+        edgeCount = count;
+        return true;
+    }
+
+    private int bottleneck(int best, int e) {
+        return best < 0 || capacities[e] < capacities[best] ? e : best;
+    }
+
+    private int other(int e, int v) {
+        return tails[e] == v ? heads[e] : tails[e];
+    }
+
+    private static int[] identity(int length) {
+        int[] order = new int[length];
+        for (int i = 0; i < length; i++) {
+            order[i] = i;
+        }
+        return order;
+    }
+
+    // Stable counting sort of order by key[order[i]] in 0..n-1
+    private static int[] countingSort(int[] order, int[] key, int n) {
+        int[] start = new int[n + 1];
+        for (int e : order) {
+            start[key[e] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            start[v + 1] += start[v];
+        }
+        int[] sorted = new int[order.length];
+        for (int e : order) {
+            sorted[start[key[e]]++] = e;
+        }
+        return sorted;
+    }
+}
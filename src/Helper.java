@@ -1,7 +1,16 @@
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 class Graph {
@@ -13,7 +22,8 @@ class Graph {
         u.neighbors.put(v, capacity);
     }
 
-    Vertex getRandomVertex() {
+    // Pass a seeded Random to make source selection reproducible
+    Vertex getRandomVertex(Random random) {
         List<Vertex> eligibleVertices = vertices.values().stream()
                 .filter(vertex -> !vertex.neighbors.isEmpty()) // Filter vertices with at least one outgoing edge
                 .collect(Collectors.toList());
@@ -23,7 +33,7 @@ class Graph {
             return null; // Or throw an exception, return a default vertex, etc.
         }
 
-        return eligibleVertices.get(new Random().nextInt(eligibleVertices.size()));
+        return eligibleVertices.get(random.nextInt(eligibleVertices.size()));
     }
 }
 
@@ -56,6 +66,27 @@ public class Helper {
         return graph;
     }
 
+    static ResidualGraph readResidualGraphFromFile(String fileName) throws IOException {
+        return CsvGraphParser.parse(fileName).build();
+    }
+
+    // Reads a .bin (see BinaryGraphFormat) when it is named, or when one next to the CSV is newer than
+    // the CSV; a .bin older than its CSV is stale, e.g. after Main regenerated the graph. The GraphLoad
+    // JFR event records which file and format were read
+    static ResidualGraph readResidualGraph(String fileName) throws IOException {
+        GraphLoadEvent event = GraphLoadEvent.beginLoad();
+        Path binary = Paths.get(fileName.replaceFirst("\\.csv$", ".bin"));
+        boolean useBinary = fileName.endsWith(".bin") || (!binary.toString().equals(fileName) && isNewer(binary, Paths.get(fileName)));
+        ResidualGraph graph = useBinary ? BinaryGraphFormat.read(binary) : readResidualGraphFromFile(fileName);
+        GraphLoadEvent.endLoad(event, useBinary ? binary.toString() : fileName, useBinary ? "bin" : "csv", graph.n, graph.edgeCount);
+        return graph;
+    }
+
+    private static boolean isNewer(Path candidate, Path than) throws IOException {
+        return Files.exists(candidate)
+                && (!Files.exists(than) || Files.getLastModifiedTime(candidate).compareTo(Files.getLastModifiedTime(than)) > 0);
+    }
+
     static Vertex findLongestPath(Vertex source) {
         Map<Vertex, Integer> distance = new HashMap<>();
         Queue<Vertex> queue = new LinkedList<>();
@@ -83,64 +114,235 @@ public class Helper {
         return farthestNode;
     }
 
+    // BFS over the input edges (not reverse arcs) from source; returns the farthest vertex
+    static int findLongestPath(FlowGraph graph, int source) {
+        DirectionOptimizingBFS bfs = new DirectionOptimizingBFS(graph);
+        bfs.overEdges(source);
+        return bfs.farthest;
+    }
+
     public static void main(String[] args) throws IOException {
+        SolverMetrics.publish();
         int n = Integer.parseInt(args[0]);
         double r = Double.parseDouble(args[1]);
         int upperCap = Integer.parseInt(args[2]);
         String fileName = "graph_adjacency_list_"+args[0]+"_"+args[1]+"_"+args[2]+".csv";
-        Graph originalGraph = readGraphFromFile(fileName);
+        ResidualGraph originalGraph = readResidualGraph(fileName);
+
+        // Pass "pairs" plus a file of sourceId,sinkId lines or a number of random pairs, and optionally
+        // a thread count and the seed of the random pairs, to answer many queries against the one loaded graph
+        if (args.length > 4 && args[3].equals("pairs")) {
+            int threads = args.length > 5 ? Integer.parseInt(args[5]) : Runtime.getRuntime().availableProcessors();
+            long seed = args.length > 6 ? Long.parseLong(args[6]) : new Random().nextLong();
+            runPairs(originalGraph, args[4], threads, seed, n, r, upperCap);
+            return;
+        }
+
+        // Source and the Random strategy both follow the printed seed; pass "seed=<value>" to replay a run
+        List<String> options = Arrays.asList(args).subList(Math.min(3, args.length), args.length);
+        long seed = seed(options);
 
         // Select a random source and find the longest path to determine the sink
-        Vertex source = originalGraph.getRandomVertex();
-        Vertex sink = findLongestPath(source);
+        int source = originalGraph.getRandomVertex(new Random(seed));
+        int sink = findLongestPath(originalGraph, source);
 
-        List<Result> results = new ArrayList<>();
+        // Pass "reduce" to prune, contract and compact the graph for this pair before solving
+        GraphReduction reduction = null;
+        int originalEdges = originalGraph.edgeCount;
+        if (options.contains("reduce") && source == sink) {
+            System.out.println("Reduction skipped: source and sink are the same vertex, the table describes the original graph");
+            System.out.println();
+        } else if (options.contains("reduce")) {
+            reduction = timedReduction(originalGraph, source, sink);
+            originalGraph = reduction.graph;
+            source = reduction.source;
+            sink = reduction.sink;
+        }
 
-        // 1. Shortest Augmenting Path (SAP)
-        Graph g1 =  readGraphFromFile(fileName);
+        // The file is parsed once; each strategy solves its own residual copy and is timed on the solve alone
+        // Pass "concurrent" to solve all strategies at once; their summaries would interleave, so only display()
+        // reports. The strategies already share the cores then, so Par-PR runs on one thread as in ParameterSweep
+        boolean concurrent = options.contains("concurrent");
+        int parallelThreads = concurrent ? 1 : Runtime.getRuntime().availableProcessors();
+        List<Callable<Result>> strategies = strategies(originalGraph, source, sink, seed, parallelThreads, concurrent);
 
-        Vertex sourceCopy1 = g1.vertices.get(source.id);
-        Vertex sinkCopy1 = g1.vertices.get(sink.id);
-        RunSAPSimulation rss = new RunSAPSimulation();
-        Result resultSAP = rss.runSAPSimulation(g1, sourceCopy1, sinkCopy1, "SAP");
-        results.add(resultSAP);
-        System.out.println();
+        List<Result> results = concurrent ? runConcurrently(strategies) : runSequentially(strategies);
 
-        // 2. DFS-Like
+        if (reduction != null) {
+            // A silent solve of its own: the strategy runs may have ended on any residual
+            ResidualGraph solved = reduction.graph.copy();
+            MultiPairMaxFlow.solve(solved, new DinicSimulation(solved), reduction.source, reduction.sink);
+            List<int[]> cut = reduction.minCut(solved);
+            long cutCapacity = 0;
+            for (int[] edge : cut) {
+                cutCapacity += edge[2];
+            }
+            System.out.println("Minimum Cut: " + cut.size() + " original edges, capacity " + cutCapacity);
+            System.out.println();
+            System.out.println("Solved on the reduced graph: paths, ML, MPL and totalEdges refer to its "
+                    + reduction.graph.edgeCount + " edges, not the original " + originalEdges);
+        }
+
+        // Display
+        display(results, n, r, upperCap);
+
+    }
 
-        Graph g2 =  readGraphFromFile(fileName);
-        Vertex sourceCopy2 = g2.vertices.get(source.id);
-        Vertex sinkCopy2 = g2.vertices.get(sink.id);
-        Result resultDFSLike = new RunDFSLikeSimulation().runDFSLikeSimulation(g2, sourceCopy2, sinkCopy2, "DFS-Like");
-        results.add(resultDFSLike);
+    // The value of a "seed=<value>" option, or a fresh seed; printed either way
+    static long seed(List<String> options) {
+        long seed = options.stream()
+                .filter(option -> option.startsWith("seed="))
+                .mapToLong(option -> Long.parseLong(option.substring("seed=".length())))
+                .findFirst()
+                .orElseGet(() -> new Random().nextLong());
+        System.out.println("Seed: " + seed);
+        return seed;
+    }
+
+    static GraphReduction timedReduction(ResidualGraph graph, int source, int sink) {
+        long start = System.nanoTime();
+        GraphReduction reduction = GraphReduction.reduce(graph, source, sink);
+        System.out.println(String.format("Reduced %d vertices / %d edges to %d / %d in %.1f ms: %d pruned, %d contracted, %d arcs merged",
+                graph.n, graph.edgeCount, reduction.graph.n, reduction.graph.edgeCount, (System.nanoTime() - start) / 1_000_000.0,
+                reduction.prunedVertices, reduction.contractedVertices, reduction.mergedArcs));
         System.out.println();
+        return reduction;
+    }
+
+    // Every strategy as a task that solves its own residual copy of originalGraph, timed on the solve alone;
+    // seed drives the Random strategy, parallelThreads is the pool size of the parallel push-relabel solve,
+    // and quiet runners print no summary of their own
+    static List<Callable<Result>> strategies(ResidualGraph originalGraph, int source, int sink, long seed, int parallelThreads,
+                                             boolean quiet) {
+        List<Callable<Result>> strategies = new ArrayList<>();
+
+        // 1. Shortest Augmenting Path (SAP)
+        strategies.add(() -> {
+            ResidualGraph g1 = originalGraph.copy();
+            return timed(() -> new RunSAPSimulation(quiet).runSAPSimulation(g1, source, sink, "SAP"));
+        });
+
+        // 1b. SAP with bidirectional BFS
+        strategies.add(() -> {
+            ResidualGraph g1b = originalGraph.copy();
+            return timed(() -> new RunSAPSimulation(quiet).runSAPSimulation(g1b, source, sink, "SAP-Bidi", true));
+        });
+
+        // 2. DFS-Like
+        strategies.add(() -> {
+            ResidualGraph g2 = originalGraph.copy();
+            return timed(() -> new RunDFSLikeSimulation(quiet).runDFSLikeSimulation(g2, source, sink, "DFS-Like"));
+        });
 
         // 3. Maximum Capacity (MaxCap)
+        strategies.add(() -> {
+            ResidualGraph g3 = originalGraph.copy();
+            return timed(() -> new RunMaxCapSimulation(quiet).runMaxCapSimulation(g3, source, sink, "Max-Cap"));
+        });
 
-        Graph g3 =  readGraphFromFile(fileName);
-        Vertex sourceCopy3 = g3.vertices.get(source.id);
-        Vertex sinkCopy3 = g3.vertices.get(sink.id);
-        Result resultMaxCap = new RunMaxCapSimulation().runMaxCapSimulation(g3, sourceCopy3, sinkCopy3, "Max-Cap");
-        results.add(resultMaxCap);
-        System.out.println();
+        // 3b. Capacity-scaling Max-Cap
+        strategies.add(() -> {
+            ResidualGraph g3b = originalGraph.copy();
+            return timed(() -> new RunCapacityScalingSimulation(quiet).runCapacityScalingSimulation(g3b, source, sink, "Cap-Scale"));
+        });
 
         // 4. Random
+        strategies.add(() -> {
+            ResidualGraph g4 = originalGraph.copy();
+            return timed(() -> new RunRandomSimulation(quiet).runRandomSimulation(g4, source, sink, "Random", seed));
+        });
 
-        Graph g4 =  readGraphFromFile(fileName);
-        Vertex sourceCopy4 = g4.vertices.get(source.id);
-        Vertex sinkCopy4 = g4.vertices.get(sink.id);
-        Result resultRandom = new RunRandomSimulation().runRandomSimulation(g4, sourceCopy4, sinkCopy4, "Random");
-        results.add(resultRandom);
-        System.out.println();
+        // 5. Dinic
+        strategies.add(() -> {
+            ResidualGraph g5 = originalGraph.copy();
+            return timed(() -> new RunDinicSimulation(quiet).runDinicSimulation(g5, source, sink, "Dinic"));
+        });
 
-        // Display
-        display(results, n, r, upperCap);
+        // 6. Push-Relabel
+        strategies.add(() -> {
+            ResidualGraph g6 = originalGraph.copy();
+            return timed(() -> new RunPushRelabelSimulation(quiet).runPushRelabelSimulation(g6, source, sink, "Push-Rel"));
+        });
+
+        // 7. Parallel Push-Relabel
+        strategies.add(() -> {
+            ResidualGraph g7 = originalGraph.copy();
+            return timed(() -> new RunParallelPushRelabelSimulation(quiet).runParallelPushRelabelSimulation(g7, source, sink, "Par-PR", parallelThreads));
+        });
+
+        return strategies;
+    }
+
+    // Random pairs are drawn from seed, which is printed so the batch can be repeated
+    static void runPairs(ResidualGraph graph, String pairs, int threads, long seed, int n, double r, int upperCap) throws IOException {
+        int[][] queries;
+        if (pairs.chars().allMatch(Character::isDigit)) {
+            System.out.println("Seed: " + seed);
+            queries = MultiPairMaxFlow.randomPairs(graph, Integer.parseInt(pairs), new Random(seed));
+        } else {
+            queries = MultiPairMaxFlow.readPairs(graph, pairs);
+        }
+        long start = System.nanoTime();
+        List<Result> results = new MultiPairMaxFlow(graph, threads).solve(queries[0], queries[1]);
+        double millis = (System.nanoTime() - start) / 1_000_000.0;
 
+        MultiPairMaxFlow.display(graph, queries[0], queries[1], results, n, r, upperCap);
+        System.out.printf("%d queries on %d threads in %.1f ms%n", results.size(), threads, millis);
+    }
+
+    static Result timed(Supplier<Result> strategy) {
+        long start = System.nanoTime();
+        Result result = strategy.get();
+        long elapsed = System.nanoTime() - start;
+        SolverMetrics.recordSolve(result.simulationName(), elapsed);
+        return result.withWallTime(elapsed / 1_000_000.0);
+    }
+
+    static List<Result> runSequentially(List<Callable<Result>> strategies) throws IOException {
+        List<Result> results = new ArrayList<>();
+        for (Callable<Result> strategy : strategies) {
+            results.add(call(strategy));
+            System.out.println();
+        }
+        return results;
+    }
+
+    // Solves every strategy on its own thread; results keep the order of the input list
+    static List<Result> runConcurrently(List<Callable<Result>> strategies) throws IOException {
+        int threads = Math.min(strategies.size(), Runtime.getRuntime().availableProcessors());
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(threads, 1));
+        try {
+            List<Result> results = new ArrayList<>();
+            for (Future<Result> future : executor.invokeAll(strategies)) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for strategies", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IllegalStateException("Strategy failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Result call(Callable<Result> strategy) throws IOException {
+        try {
+            return strategy.call();
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Strategy failed", e);
+        }
     }
 
     static void display(List<Result> results, int n, double r, int upperCap) {
-        System.out.println(String.format("%-10s\t%-5s\t%-5s\t%-5s\t%-5s\t%-5s\t%-5s\t%-5s\t%-5s",
-                "Algorithm", "n", "r", "upperCap", "paths", "ML", "MPL", "totalEdges", "maxFlow"));
+        System.out.println(String.format("%-10s\t%-5s\t%-5s\t%-5s\t%-5s\t%-5s\t%-5s\t%-5s\t%-5s\t%-5s\t%-5s\t%-5s",
+                "Algorithm", "n", "r", "upperCap", "paths", "ML", "MPL", "totalEdges", "maxFlow", "time(ms)", "phases", "searches"));
         for (Result result : results) {
             String s = result.toFormattedString(n, r, upperCap);
             System.out.println(s);
@@ -0,0 +1,262 @@
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Maximum flow that is kept up to date while edge capacities change. The graph is solved once with
+ * Dinic; afterwards {@link #setCapacity} stages capacity changes and {@link #resolve} repairs the
+ * stored flow instead of starting over.
+ * <p>
+ * Increases only add residual capacity. A decrease below the flow on the edge leaves the tail with
+ * surplus and the head with shortage; the surplus is first rerouted to a shortage through the
+ * residual graph (cancelling around a cycle), what is left flows on to the sink or back to the
+ * source, and remaining shortage is fed from the source or pulled back from the sink. The restored
+ * flow is then augmented with shortest paths until the sink is cut off again. Every step is a BFS
+ * from the changed edge's endpoints, so a small batch costs a few searches instead of a full
+ * Ford-Fulkerson run.
+ */
+public class IncrementalMaxFlow {
+    private final ResidualGraph graph;
+    private final int source;
+    private final int sink;
+    private final int[] capacity;   // current capacity per forward arc; graph.capacity is shared topology
+    private final SAPSearch search;
+    private final FordFulkerson f = new FordFulkerson();
+    private final int[] excess;     // surplus (> 0) or shortage (< 0) left by capacity cuts
+
+    private int[] pendingArcs = new int[16];
+    private int[] pendingCapacities = new int[16];
+    private int pendingCount;
+
+    private int maxFlow;
+
+    // Statistics of the last resolve
+    int augmentations;
+    int cancellations;
+
+    // Takes ownership of graph's residual array and solves it
+    IncrementalMaxFlow(ResidualGraph graph, int source, int sink) {
+        if (graph == null || source < 0 || sink < 0) {
+            throw new IllegalArgumentException("Input arguments cannot be null.");
+        }
+        if (source == sink) {
+            throw new IllegalArgumentException("Source and sink must differ.");
+        }
+        this.graph = graph;
+        this.source = source;
+        this.sink = sink;
+        this.capacity = graph.capacity.clone();
+        this.search = new SAPSearch(graph);
+        this.excess = new int[graph.n];
+
+        DinicSimulation dinic = new DinicSimulation(graph);
+        while (dinic.buildLevelGraph(source, sink)) {
+            int pathLength;
+            while ((pathLength = dinic.findPath(source, sink)) > 0) {
+                int minCapacity = f.findMinCapacity(graph, dinic.path, pathLength);
+                f.updateResidualGraph(graph, dinic.path, pathLength, minCapacity);
+            }
+        }
+        maxFlow = sinkInflow();
+    }
+
+    int maxFlow() {
+        return maxFlow;
+    }
+
+    // Current capacity of the edge uId -> vId (the first one if there are parallel edges)
+    int capacity(int uId, int vId) {
+        return capacity[arcOf(uId, vId)];
+    }
+
+    // Stages a capacity change; nothing is recomputed until resolve()
+    void setCapacity(int uId, int vId, int newCapacity) {
+        if (newCapacity < 0) {
+            throw new IllegalArgumentException("Capacities must be non-negative: " + newCapacity);
+        }
+        int arc = arcOf(uId, vId);
+        if (pendingCount == pendingArcs.length) {
+            pendingArcs = Arrays.copyOf(pendingArcs, pendingCount * 2);
+            pendingCapacities = Arrays.copyOf(pendingCapacities, pendingCount * 2);
+        }
+        pendingArcs[pendingCount] = arc;
+        pendingCapacities[pendingCount] = newCapacity;
+        pendingCount++;
+    }
+
+    // Applies every staged change, repairs the flow and returns the new maximum flow
+    int resolve() {
+        augmentations = 0;
+        cancellations = 0;
+        int[] residual = graph.residual;
+        boolean changed = false; // false if the batch only lowered capacities above the current flow
+
+        // 1. Apply the batch; cuts below the current flow clip it and leave surplus and shortage
+        for (int i = 0; i < pendingCount; i++) {
+            int arc = pendingArcs[i];
+            int back = graph.reverse[arc];
+            int flow = residual[back];
+            int newCapacity = pendingCapacities[i];
+            changed |= newCapacity > capacity[arc] || flow > newCapacity;
+            capacity[arc] = newCapacity;
+            if (flow <= newCapacity) {
+                residual[arc] = newCapacity - flow;
+                continue;
+            }
+            residual[arc] = 0;
+            residual[back] = newCapacity;
+            addExcess(graph.tail(arc), flow - newCapacity);
+            addExcess(graph.head[arc], newCapacity - flow);
+        }
+
+        // 2. Route surplus to a shortage (a cycle around the clipped edge, keeping the flow value),
+        //    else on to the sink, else back to the source
+        for (int i = 0; i < pendingCount; i++) {
+            int u = graph.tail(pendingArcs[i]);
+            while (excess[u] > 0) {
+                int before = excess[u];
+                for (int j = 0; j < pendingCount && excess[u] > 0; j++) {
+                    cancel(u, graph.head[pendingArcs[j]]);
+                }
+                cancel(u, sink);
+                cancel(u, source);
+                if (excess[u] == before) {
+                    throw new IllegalStateException("Surplus at vertex " + graph.ids[u] + " cannot be routed");
+                }
+            }
+        }
+
+        // 3. With no surplus left every shortage is fed by a path from the source or the sink
+        for (int i = 0; i < pendingCount; i++) {
+            int v = graph.head[pendingArcs[i]];
+            while (excess[v] < 0) {
+                int before = excess[v];
+                cancel(source, v);
+                cancel(sink, v);
+                if (excess[v] == before) {
+                    throw new IllegalStateException("Shortage at vertex " + graph.ids[v] + " cannot be filled");
+                }
+            }
+        }
+        pendingCount = 0;
+        if (!changed) {
+            return maxFlow; // the old minimum cut still has the same capacity
+        }
+
+        // 4. The flow is feasible again; augment until the sink is cut off
+        while (search.search(source, sink)) {
+            int minCapacity = f.findMinCapacity(graph, search.path, search.pathLength);
+            f.updateResidualGraph(graph, search.path, search.pathLength, minCapacity);
+            augmentations++;
+        }
+        maxFlow = sinkInflow();
+        return maxFlow;
+    }
+
+    // Source and sink are allowed any imbalance, so they never record excess
+    private void addExcess(int v, int amount) {
+        if (v != source && v != sink) {
+            excess[v] += amount;
+        }
+    }
+
+    // Pushes min(surplus at from, shortage at to) along residual paths; source and sink are unbounded
+    private void cancel(int from, int to) {
+        while (amount(from, to) > 0 && search.search(from, to)) {
+            int minCapacity = Math.min(amount(from, to), f.findMinCapacity(graph, search.path, search.pathLength));
+            f.updateResidualGraph(graph, search.path, search.pathLength, minCapacity);
+            addExcess(from, -minCapacity);
+            addExcess(to, minCapacity);
+            cancellations++;
+        }
+    }
+
+    private int amount(int from, int to) {
+        int surplus = from == source || from == sink ? Integer.MAX_VALUE : excess[from];
+        int shortage = to == source || to == sink ? Integer.MAX_VALUE : -excess[to];
+        return Math.min(surplus, shortage);
+    }
+
+    // Net flow into the sink: flow on its incoming edges minus flow on its outgoing edges
+    private int sinkInflow() {
+        int inflow = 0;
+        for (int a = graph.firstArc[sink]; a < graph.firstArc[sink + 1]; a++) {
+            if (graph.isForward(a)) {
+                inflow -= graph.residual[graph.reverse[a]];
+            } else {
+                inflow += graph.residual[a];
+            }
+        }
+        return inflow;
+    }
+
+    private int arcOf(int uId, int vId) {
+        int u = graph.indexOf(uId);
+        int v = graph.indexOf(vId);
+        if (u >= 0 && v >= 0) {
+            for (int a = graph.firstArc[u]; a < graph.firstArc[u + 1]; a++) {
+                if (graph.head[a] == v && graph.isForward(a)) {
+                    return a;
+                }
+            }
+        }
+        throw new IllegalArgumentException("No edge " + uId + " -> " + vId);
+    }
+
+    /**
+     * Solves a graph file, then replays capacity updates from a second CSV of "u,v,capacity" lines.
+     * A blank line ends a batch; the new maximum flow and repair time are printed per batch.
+     * Without a source and sink, they are picked from a printed seed, which can be passed back.
+     * Usage: IncrementalMaxFlow graph.csv updates.csv [sourceId sinkId | seed]
+     */
+    public static void main(String[] args) throws IOException {
+        SolverMetrics.publish();
+        ResidualGraph graph = Helper.readResidualGraph(args[0]);
+        int source;
+        int sink;
+        if (args.length >= 4) {
+            source = graph.indexOf(Integer.parseInt(args[2]));
+            sink = graph.indexOf(Integer.parseInt(args[3]));
+        } else {
+            long seed = args.length == 3 ? Long.parseLong(args[2]) : new Random().nextLong();
+            System.out.println("Seed: " + seed);
+            source = graph.getRandomVertex(new Random(seed));
+            sink = Helper.findLongestPath(graph, source);
+        }
+
+        long start = System.nanoTime();
+        IncrementalMaxFlow flow = new IncrementalMaxFlow(graph, source, sink);
+        System.out.printf("Source: %d Sink: %d%n", graph.ids[source], graph.ids[sink]);
+        System.out.printf("Initial Maximum Flow: %d (%.3f ms)%n", flow.maxFlow(), (System.nanoTime() - start) / 1_000_000.0);
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(args[1]))) {
+            int batch = 0;
+            int staged = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty()) {
+                    String[] parts = line.split(",");
+                    flow.setCapacity(Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()), Integer.parseInt(parts[2].trim()));
+                    staged++;
+                } else if (staged > 0) {
+                    printBatch(flow, ++batch, staged);
+                    staged = 0;
+                }
+            }
+            if (staged > 0) {
+                printBatch(flow, ++batch, staged);
+            }
+        }
+    }
+
+    private static void printBatch(IncrementalMaxFlow flow, int batch, int changes) {
+        long start = System.nanoTime();
+        int maxFlow = flow.resolve();
+        double millis = (System.nanoTime() - start) / 1_000_000.0;
+        System.out.printf("Batch %d (%d changes): Maximum Flow %d, %d cancellations, %d augmentations (%.3f ms)%n",
+                batch, changes, maxFlow, flow.cancellations, flow.augmentations, millis);
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * Binary min-heap of vertices 0..n-1 with int keys. Each vertex's slot in the heap is tracked, so a
+ * key can be lowered in place and a vertex is never queued twice. All arrays are sized once, so one
+ * instance is reused across searches without allocating.
+ */
+public class IndexedMinHeap {
+    private final int[] heap;       // vertices in heap order
+    private final int[] key;        // key of each queued vertex
+    private final int[] position;   // slot of each vertex in heap, -1 if not queued
+    private int size;
+
+    IndexedMinHeap(int n) {
+        heap = new int[n];
+        key = new int[n];
+        position = new int[n];
+        java.util.Arrays.fill(position, -1);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean contains(int v) {
+        return position[v] >= 0;
+    }
+
+    int key(int v) {
+        return key[v];
+    }
+
+    // Inserts v, or lowers its key if it is queued with a larger one
+    void push(int v, int newKey) {
+        int i = position[v];
+        if (i < 0) {
+            i = size++;
+        } else if (newKey >= key[v]) {
+            return;
+        }
+        key[v] = newKey;
+        siftUp(i, v);
+    }
+
+    // Removes and returns the vertex with the smallest key; the heap must not be empty
+    int pop() {
+        int top = heap[0];
+        position[top] = -1;
+        int last = heap[--size];
+        if (size > 0) {
+            siftDown(0, last);
+        }
+        return top;
+    }
+
+    // Empties the heap in O(size)
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int i, int v) {
+        int k = key[v];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            int p = heap[parent];
+            if (key[p] <= k) {
+                break;
+            }
+            heap[i] = p;
+            position[p] = i;
+            i = parent;
+        }
+        heap[i] = v;
+        position[v] = i;
+    }
+
+    private void siftDown(int i, int v) {
+        int k = key[v];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int c = heap[child];
+            if (child + 1 < size && key[heap[child + 1]] < key[c]) {
+                c = heap[++child];
+            }
+            if (k <= key[c]) {
+                break;
+            }
+            heap[i] = c;
+            position[c] = i;
+            i = child;
+        }
+        heap[i] = v;
+        position[v] = i;
+    }
+}
@@ -0,0 +1,70 @@
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of primitive longs. Searches pack a priority key into the high 32 bits and a
+ * vertex index into the low 32 bits, so no boxing happens on push or pop.
+ */
+public class LongMinHeap {
+    private long[] heap;
+    private int size;
+
+    LongMinHeap(int initialCapacity) {
+        heap = new long[Math.max(initialCapacity, 16)];
+    }
+
+    static long pack(int key, int vertex) {
+        return ((long) key << 32) | (vertex & 0xFFFFFFFFL);
+    }
+
+    static int vertex(long entry) {
+        return (int) entry;
+    }
+
+    static int key(long entry) {
+        return (int) (entry >> 32);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    void push(long value) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent] <= value) {
+                break;
+            }
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = value;
+    }
+
+    long pop() {
+        long top = heap[0];
+        long last = heap[--size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (last <= heap[child]) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return top;
+    }
+}
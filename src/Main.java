@@ -1,7 +1,9 @@
 import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
 import java.util.*;
+import java.util.stream.IntStream;
 
 public class Main {
     public static void main(String[] args) {
@@ -10,110 +12,176 @@ public class Main {
         int upperCap = Integer.parseInt(args[2]);
         String outputFileName = "graph_adjacency_list_"+n+"_"+r+"_"+upperCap+".csv";
         GraphGenerator graphGenerator = new GraphGenerator();
-        graphGenerator.generateSinkSourceGraph(n, r, upperCap, outputFileName);
+        if (args.length > 3) {
+            // Optional fourth argument fixes the seed so the same graph can be regenerated
+            graphGenerator.generateSinkSourceGraph(n, r, upperCap, Long.parseLong(args[3]), outputFileName);
+        } else {
+            graphGenerator.generateSinkSourceGraph(n, r, upperCap, outputFileName);
+        }
         System.out.println("The Graph is Generated Successfully");
     }
 }
 
+/**
+ * Random geometric graph generator. Vertices 1..n get uniform coordinates in the unit square and every
+ * pair closer than r gets one edge in a random direction with a capacity in [1, upperCap].
+ * Points are bucketed into grid cells at least r wide, so only the 3x3 neighbouring cells are tested.
+ * Direction and capacity are derived from a hash of the seed and the vertex pair, so both endpoints agree
+ * without shared state, vertices are processed in parallel, and the same seed always gives the same graph.
+ */
 class GraphGenerator {
+    private static final int CHUNK = 4096;      // vertices rendered per task
+    private static final int CHUNKS_IN_FLIGHT = 64;
 
     public void generateSinkSourceGraph(int n, double r, int upperCap, String outputFileName) {
-        Set<Vertex> vertices = new HashSet<>();
-        Set<Edge> edges = new HashSet<>();
+        generateSinkSourceGraph(n, r, upperCap, new SplittableRandom().nextLong(), outputFileName);
+    }
 
-        // Create vertices and assign random coordinates
-        for (int i = 0; i < n; i++) {
-            Vertex vertex = new Vertex();
-            vertices.add(vertex);
+    public void generateSinkSourceGraph(int n, double r, int upperCap, long seed, String outputFileName) {
+        // Write the graph to a CSV file (Adjacency List)
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(outputFileName), 1 << 16)) {
+            new Layout(n, r, upperCap, seed).writeAdjacencyList(writer);
+        } catch (IOException e) {
+            e.printStackTrace();
         }
+    }
 
-        // Generate edges based on distance and random capacities
-        for (Vertex u : vertices) {
-            for (Vertex v : vertices) {
-                if (!u.equals(v) && Math.pow(u.x - v.x, 2) + Math.pow(u.y - v.y, 2) <= Math.pow(r, 2)) {
-                    double rand = Math.random();
-                    Edge edge;
-                    if (rand < 0.5) {
-                        edge = new Edge(u, v);
-                    } else {
-                        edge = new Edge(v, u);
-                    }
-                    // Ensure only one directed edge is added
-                    if (!edges.contains(edge)) {
-                        edges.add(edge);
-                    }
-                }
+    // Builds the graph in memory, without writing or parsing a CSV
+    public ResidualGraph generateResidualGraph(int n, double r, int upperCap, long seed) {
+        return new Layout(n, r, upperCap, seed).toResidualGraph();
+    }
+
+    interface EdgeVisitor {
+        void edge(int uId, int vId, int capacity);
+    }
+
+    static class Layout {
+        final int n;
+        final double r;
+        final int upperCap;
+        final long seed;
+        final double[] x;
+        final double[] y;
+        final int cells;         // grid is cells x cells
+        final int[] cellStart;   // vertices of cell c are cellOrder[cellStart[c] .. cellStart[c + 1] - 1]
+        final int[] cellOrder;
+
+        Layout(int n, double r, int upperCap, long seed) {
+            if (n < 0 || upperCap < 1) {
+                throw new IllegalArgumentException("n must be non-negative and upperCap positive.");
+            }
+            this.n = n;
+            this.r = r;
+            this.upperCap = upperCap;
+            this.seed = seed;
+            this.x = new double[n];
+            this.y = new double[n];
+            SplittableRandom random = new SplittableRandom(seed);
+            for (int i = 0; i < n; i++) {
+                x[i] = random.nextDouble();
+                y[i] = random.nextDouble();
             }
-        }
 
-        // Assign random capacities to edges
-        for (Edge edge : edges) {
-            edge.capacity = new Random().nextInt(upperCap) + 1;
+            // Cells must be at least r wide; cap the grid at about one cell per vertex
+            int bySize = r > 0 ? (int) Math.min(Integer.MAX_VALUE, Math.floor(1 / r)) : Integer.MAX_VALUE;
+            this.cells = Math.max(1, Math.min(bySize, (int) Math.ceil(Math.sqrt(n))));
+            this.cellStart = new int[cells * cells + 1];
+            this.cellOrder = new int[n];
+            int[] cellOf = new int[n];
+            for (int i = 0; i < n; i++) {
+                cellOf[i] = cellIndex(i);
+                cellStart[cellOf[i] + 1]++;
+            }
+            for (int c = 0; c < cells * cells; c++) {
+                cellStart[c + 1] += cellStart[c];
+            }
+            int[] next = Arrays.copyOf(cellStart, cells * cells);
+            for (int i = 0; i < n; i++) {
+                cellOrder[next[cellOf[i]]++] = i;
+            }
         }
 
-        // Build adjacency list
-        Map<Vertex, Map<Vertex, Integer>> adjacencyList = new HashMap<>();
-        for (Edge edge : edges) {
-            adjacencyList.computeIfAbsent(edge.u, k -> new HashMap<>()).put(edge.v, edge.capacity);
+        private int cellIndex(int i) {
+            int cx = Math.min((int) (x[i] * cells), cells - 1);
+            int cy = Math.min((int) (y[i] * cells), cells - 1);
+            return cy * cells + cx;
         }
 
-        // Write the graph to a CSV file (Adjacency List)
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(outputFileName))) {
-            for (Vertex vertex : adjacencyList.keySet()) {
-                writer.write(vertex.toCsvString(adjacencyList.get(vertex)));
-                writer.newLine();
+        // Streams one "u,v:c,v:c" line per vertex with outgoing edges; chunks are built in parallel but written in order
+        void writeAdjacencyList(Writer writer) throws IOException {
+            int chunks = (n + CHUNK - 1) / CHUNK;
+            for (int batch = 0; batch < chunks; batch += CHUNKS_IN_FLIGHT) {
+                int first = batch;
+                int last = Math.min(chunks, batch + CHUNKS_IN_FLIGHT);
+                String[] rendered = new String[last - first];
+                IntStream.range(first, last).parallel().forEach(c -> {
+                    StringBuilder builder = new StringBuilder();
+                    for (int u = c * CHUNK, end = Math.min(n, (c + 1) * CHUNK); u < end; u++) {
+                        appendAdjacencyLine(u, builder);
+                    }
+                    rendered[c - first] = builder.toString();
+                });
+                for (String chunk : rendered) {
+                    writer.write(chunk);
+                }
             }
-        } catch (IOException e) {
-            e.printStackTrace();
         }
 
-    }
-
-    static class Vertex {
-        static int idCounter = 1;
-        int id;
-        double x;
-        double y;
-
-        Vertex() {
-            this.id = idCounter++;
-            this.x = Math.random();
-            this.y = Math.random();
+        void appendAdjacencyLine(int u, StringBuilder builder) {
+            int lineStart = builder.length();
+            builder.append(u + 1);
+            int idEnd = builder.length();
+            visitOutgoingEdges(u, (uId, vId, capacity) -> builder.append(',').append(vId).append(':').append(capacity));
+            if (builder.length() > idEnd) {
+                builder.append('\n');
+            } else {
+                builder.setLength(lineStart); // no outgoing edges, no line
+            }
         }
 
-        String toCsvString(Map<Vertex, Integer> neighbors) {
-            StringBuilder builder = new StringBuilder();
-            builder.append(id).append(",");
-            for (Vertex neighbor : neighbors.keySet()) {
-                builder.append(neighbor.id).append(":").append(neighbors.get(neighbor)).append(",");
+        // Same edges, in the same order, as the CSV written by writeAdjacencyList
+        ResidualGraph toResidualGraph() {
+            ResidualGraph.EdgeList edges = new ResidualGraph.EdgeList();
+            for (int u = 0; u < n; u++) {
+                visitOutgoingEdges(u, edges::add);
             }
-            // Remove the trailing comma
-            builder.deleteCharAt(builder.length() - 1);
-            return builder.toString();
+            return edges.build();
         }
-    }
 
-    static class Edge {
-        Vertex u;
-        Vertex v;
-        int capacity;
-
-        Edge(Vertex u, Vertex v) {
-            this.u = u;
-            this.v = v;
+        void visitOutgoingEdges(int u, EdgeVisitor visitor) {
+            double r2 = r * r;
+            int cx = Math.min((int) (x[u] * cells), cells - 1);
+            int cy = Math.min((int) (y[u] * cells), cells - 1);
+            for (int gy = Math.max(0, cy - 1); gy <= Math.min(cells - 1, cy + 1); gy++) {
+                for (int gx = Math.max(0, cx - 1); gx <= Math.min(cells - 1, cx + 1); gx++) {
+                    int c = gy * cells + gx;
+                    for (int k = cellStart[c]; k < cellStart[c + 1]; k++) {
+                        int v = cellOrder[k];
+                        double dx = x[u] - x[v];
+                        double dy = y[u] - y[v];
+                        if (v != u && dx * dx + dy * dy <= r2) {
+                            long hash = pairHash(u, v);
+                            // Low bit picks the direction of the pair: 0 means lower id -> higher id
+                            boolean lowToHigh = (hash & 1) == 0;
+                            if ((u < v) == lowToHigh) {
+                                visitor.edge(u + 1, v + 1, capacity(hash));
+                            }
+                        }
+                    }
+                }
+            }
         }
 
-        @Override
-        public boolean equals(Object obj) {
-            if (this == obj) return true;
-            if (obj == null || getClass() != obj.getClass()) return false;
-            Edge edge = (Edge) obj;
-            return (u.equals(edge.u) && v.equals(edge.v)) || (u.equals(edge.v) && v.equals(edge.u));
+        private int capacity(long hash) {
+            return (int) Long.remainderUnsigned(hash >>> 1, upperCap) + 1;
         }
 
-        @Override
-        public int hashCode() {
-            return u.hashCode() + v.hashCode();
+        // SplitMix64 finaliser over the seed and the unordered pair
+        private long pairHash(int u, int v) {
+            long z = seed + 0x9E3779B97F4A7C15L * (((long) Math.min(u, v) << 32) | Math.max(u, v));
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
         }
     }
 }
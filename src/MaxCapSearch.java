@@ -0,0 +1,134 @@
+import java.util.Arrays;
+
+/**
+ * Reusable widest-path (maximum bottleneck) search over any {@link FlowGraph}. Vertices are
+ * expanded widest first from a {@link BucketQueue} with a bucket per capacity value, or from a
+ * {@link LongMinHeap} when the capacities are too wide for that. All buffers are allocated once;
+ * widths are only valid under the current epoch stamp, so repeated searches allocate nothing.
+ */
+public class MaxCapSearch {
+    private final FlowGraph graph;
+    private final int[] visited;        // width[v] is set in this search iff visited[v] == epoch
+    private final int[] width;          // widest bottleneck found so far from the source
+    private final int[] parentArc;
+    private final BucketQueue buckets;  // null when the capacity range needs the heap
+    private final LongMinHeap heap;     // null when the buckets are used
+    private final SearchProbe probe = new SearchProbe("Max-Cap");
+    private int epoch;
+    private long pushes;                // of the current search, for the probe
+    private long pops;
+
+    final int[] path;                   // arcs of the last path found, source to sink
+    int pathLength;
+
+    MaxCapSearch(FlowGraph graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Input arguments cannot be null.");
+        }
+        int n = graph.vertexCount();
+        this.graph = graph;
+        this.visited = new int[n];
+        this.width = new int[n];
+        this.parentArc = new int[n];
+        this.path = new int[n];
+        // Residuals never exceed the largest capacity, so bottlenecks fit a bucket per value
+        int maxKey = graph.maxCapacity();
+        this.buckets = maxKey < BucketQueue.MAX_KEYS ? new BucketQueue(n, maxKey) : null;
+        this.heap = buckets == null ? new LongMinHeap(n) : null;
+    }
+
+    // Returns true and fills path/pathLength if the sink is reachable in the residual graph
+    boolean search(int source, int sink) {
+        if (source < 0 || sink < 0) {
+            throw new IllegalArgumentException("Input arguments cannot be null.");
+        }
+        if (++epoch == Integer.MAX_VALUE) {
+            Arrays.fill(visited, 0);
+            epoch = 1;
+        }
+        pathLength = 0;
+        if (source == sink) {
+            return false;
+        }
+        probe.start();
+        visited[source] = epoch;
+        width[source] = Integer.MAX_VALUE;
+        pushes = 1;
+        pops = 0;
+        if (buckets != null) {
+            widestFromBuckets(source, sink);
+        } else {
+            widestFromHeap(source, sink);
+        }
+
+        // Every push relaxed an arc; scanned counts pops, stale ones included
+        if (visited[sink] != epoch) {
+            return probe.finish(false, 0, pops, pushes - 1, pushes, pops);
+        }
+        pathLength = graph.pathTo(parentArc, source, sink, path);
+        return probe.finish(true, pathLength, pops, pushes - 1, pushes, pops);
+    }
+
+    private void widestFromBuckets(int source, int sink) {
+        FlowGraph graph = this.graph;
+        buckets.clear();
+        buckets.put(source, buckets.maxKey());
+
+        while (!buckets.isEmpty()) {
+            int u = buckets.popMax();
+            pops++;
+            if (u == sink) {
+                break;
+            }
+            int uWidth = width[u];
+            for (int a = graph.firstArc(u), end = graph.firstArc(u + 1); a < end; a++) {
+                int capacity = graph.residual(a);
+                if (capacity > 0) {
+                    int v = graph.head(a);
+                    int w = Math.min(uWidth, capacity);
+                    if (visited[v] != epoch || w > width[v]) {
+                        visited[v] = epoch;
+                        width[v] = w;
+                        parentArc[v] = a;
+                        buckets.put(v, w); // moves v if it is already queued
+                        pushes++;
+                    }
+                }
+            }
+        }
+    }
+
+    private void widestFromHeap(int source, int sink) {
+        FlowGraph graph = this.graph;
+        // Min-heap keyed by the complement so the widest bottleneck pops first
+        heap.clear();
+        heap.push(LongMinHeap.pack(0, source));
+
+        while (!heap.isEmpty()) {
+            long entry = heap.pop();
+            pops++;
+            int u = LongMinHeap.vertex(entry);
+            int uWidth = Integer.MAX_VALUE - LongMinHeap.key(entry);
+            if (uWidth < width[u]) {
+                continue; // stale entry
+            }
+            if (u == sink) {
+                break;
+            }
+            for (int a = graph.firstArc(u), end = graph.firstArc(u + 1); a < end; a++) {
+                int capacity = graph.residual(a);
+                if (capacity > 0) {
+                    int v = graph.head(a);
+                    int w = Math.min(uWidth, capacity);
+                    if (visited[v] != epoch || w > width[v]) {
+                        visited[v] = epoch;
+                        width[v] = w;
+                        parentArc[v] = a;
+                        heap.push(LongMinHeap.pack(Integer.MAX_VALUE - w, v));
+                        pushes++;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -3,7 +3,6 @@ import java.util.*;
 public class MaxCapSimulation {
 
     static List<Vertex> maxCapDijkstra(Graph graph, Vertex source, Vertex sink) {
-        System.out.println("Inside dijkstra max cap");
         if (graph == null || source == null || sink == null) {
             throw new IllegalArgumentException("Input arguments cannot be null.");
         }
@@ -17,7 +16,6 @@ public class MaxCapSimulation {
             predecessors.put(vertex, null);
         }
 
-        int maxCapacity;
         maxCapacities.put(source, Integer.MAX_VALUE);
         queue.add(source);
 
@@ -50,16 +48,22 @@ public class MaxCapSimulation {
             return Collections.emptyList();
         }
 
-        maxCapacity = maxCapacities.get(sink);
-
         List<Vertex> path = new ArrayList<>();
         for (Vertex currentVertex = sink; currentVertex != null; currentVertex = predecessors.get(currentVertex)) {
             path.add(currentVertex);
         }
         Collections.reverse(path);
 
-        System.out.println("Maximum Capacity: " + maxCapacity);
-
         return path;
     }
+
+    // One-off widest-path search on the CSR residual graph; returns the arcs of the path, empty if none.
+    // Solvers keep one MaxCapSearch instead, which reuses its buffers across augmentations
+    static int[] maxCapDijkstra(FlowGraph graph, int source, int sink) {
+        if (graph == null || source < 0 || sink < 0) {
+            throw new IllegalArgumentException("Input arguments cannot be null.");
+        }
+        MaxCapSearch search = new MaxCapSearch(graph);
+        return search.search(source, sink) ? Arrays.copyOf(search.path, search.pathLength) : new int[0];
+    }
 }
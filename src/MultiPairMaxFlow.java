@@ -0,0 +1,172 @@
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Answers many (source, sink) maximum flow queries against one loaded graph. The topology is shared
+ * read-only; each worker thread owns one residual copy and one {@link DinicSimulation} and resets
+ * the residual from the capacities before every query, so a query allocates only its Result.
+ * Workers take the next unanswered query from a shared counter, which keeps them balanced when
+ * some pairs are much harder than others.
+ */
+public class MultiPairMaxFlow {
+    private final ResidualGraph topology;
+    private final int threads;
+
+    MultiPairMaxFlow(ResidualGraph topology, int threads) {
+        if (topology == null) {
+            throw new IllegalArgumentException("Input arguments cannot be null.");
+        }
+        this.topology = topology;
+        this.threads = Math.max(threads, 1);
+    }
+
+    // Sources and sinks are dense vertex indices; results come back in query order
+    List<Result> solve(int[] sources, int[] sinks) {
+        if (sources == null || sinks == null) {
+            throw new IllegalArgumentException("Input arguments cannot be null.");
+        }
+        if (sources.length != sinks.length) {
+            throw new IllegalArgumentException("Every source needs a sink: " + sources.length + " sources, " + sinks.length + " sinks");
+        }
+        for (int i = 0; i < sources.length; i++) {
+            if (sources[i] < 0 || sources[i] >= topology.n || sinks[i] < 0 || sinks[i] >= topology.n || sources[i] == sinks[i]) {
+                throw new IllegalArgumentException("Invalid query " + i + ": " + sources[i] + " -> " + sinks[i]);
+            }
+        }
+
+        Result[] results = new Result[sources.length];
+        AtomicInteger next = new AtomicInteger();
+        List<Callable<Void>> workers = new ArrayList<>();
+        for (int w = 0; w < Math.min(threads, Math.max(sources.length, 1)); w++) {
+            workers.add(() -> {
+                ResidualGraph graph = topology.copy();
+                DinicSimulation dinic = new DinicSimulation(graph);
+                for (int i; (i = next.getAndIncrement()) < sources.length; ) {
+                    graph.resetResidual();
+                    long start = System.nanoTime();
+                    Result result = solve(graph, dinic, sources[i], sinks[i]);
+                    long elapsed = System.nanoTime() - start;
+                    SolverMetrics.recordSolve(result.simulationName(), elapsed);
+                    results[i] = result.withWallTime(elapsed / 1_000_000.0);
+                }
+                return null;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(workers.size());
+        try {
+            for (Future<Void> future : executor.invokeAll(workers)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for queries", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Query failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return Arrays.asList(results);
+    }
+
+    // Same loop and statistics as RunDinicSimulation, without the per-run printing
+    static Result solve(ResidualGraph graph, DinicSimulation dinic, int source, int sink) {
+        int paths = 0;
+        int totalLength = 0;
+        int maxLength = 0;
+
+        int maxFlow = 0;
+        FordFulkerson f = new FordFulkerson();
+        while (dinic.buildLevelGraph(source, sink)) {
+            int pathLength;
+            while ((pathLength = dinic.findPath(source, sink)) > 0) {
+                paths++;
+                int length = pathLength + 1; // vertices on the path
+                totalLength += length;
+                maxLength = Math.max(maxLength, length);
+
+                int minCapacity = f.findMinCapacity(graph, dinic.path, pathLength);
+                f.updateResidualGraph(graph, dinic.path, pathLength, minCapacity);
+                maxFlow += minCapacity;
+            }
+        }
+
+        double meanLength = (double) totalLength / paths;
+        double meanProportionalLength = meanLength / maxLength;
+        return new Result("Dinic", maxFlow, paths, meanLength, meanProportionalLength, graph.edgeCount);
+    }
+
+    // Reads "sourceId,sinkId" lines into {sources, sinks} as dense indices
+    static int[][] readPairs(ResidualGraph graph, String fileName) throws IOException {
+        int[] sources = new int[16];
+        int[] sinks = new int[16];
+        int count = 0;
+        try (BufferedReader reader = new BufferedReader(new FileReader(fileName))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty()) {
+                    continue;
+                }
+                String[] parts = line.split(",");
+                if (parts.length != 2) {
+                    throw new IOException(fileName + ":" + lineNumber + ": expected sourceId,sinkId");
+                }
+                int source = graph.indexOf(Integer.parseInt(parts[0].trim()));
+                int sink = graph.indexOf(Integer.parseInt(parts[1].trim()));
+                if (source < 0 || sink < 0) {
+                    throw new IOException(fileName + ":" + lineNumber + ": unknown vertex");
+                }
+                if (count == sources.length) {
+                    sources = Arrays.copyOf(sources, count * 2);
+                    sinks = Arrays.copyOf(sinks, count * 2);
+                }
+                sources[count] = source;
+                sinks[count] = sink;
+                count++;
+            }
+        }
+        return new int[][] {Arrays.copyOf(sources, count), Arrays.copyOf(sinks, count)};
+    }
+
+    // count random pairs: a source with an outgoing edge and any other vertex as sink
+    static int[][] randomPairs(ResidualGraph graph, int count, Random random) {
+        int[] sources = new int[count];
+        int[] sinks = new int[count];
+        if (graph.n < 2) {
+            throw new IllegalArgumentException("Random pairs need at least two vertices.");
+        }
+        for (int i = 0; i < count; i++) {
+            sources[i] = graph.getRandomVertex(random);
+            if (sources[i] < 0) {
+                throw new IllegalArgumentException("Graph has no edges.");
+            }
+            do {
+                sinks[i] = random.nextInt(graph.n);
+            } while (sinks[i] == sources[i]);
+        }
+        return new int[][] {sources, sinks};
+    }
+
+    static void display(ResidualGraph graph, int[] sources, int[] sinks, List<Result> results, int n, double r, int upperCap) {
+        System.out.println(String.format("%-8s\t%-8s\t%-10s\t%-5s\t%-5s\t%-5s\t%-5s\t%-5s\t%-5s\t%-5s\t%-5s\t%-5s\t%-5s\t%-5s",
+                "source", "sink", "Algorithm", "n", "r", "upperCap", "paths", "ML", "MPL", "totalEdges", "maxFlow", "time(ms)", "phases", "searches"));
+        for (int i = 0; i < results.size(); i++) {
+            System.out.println(String.format("%-8s\t%-8s\t", graph.ids[sources[i]], graph.ids[sinks[i]])
+                    + results.get(i).toFormattedString(n, r, upperCap));
+        }
+    }
+}
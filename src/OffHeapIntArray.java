@@ -0,0 +1,84 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Fixed-length int array outside the Java heap, stored as direct or memory-mapped buffers of at
+ * most 2^28 ints (1 GB) each, so lengths are not limited by the 2 GB buffer size.
+ */
+final class OffHeapIntArray {
+    private static final int CHUNK_SHIFT = 28;
+    private static final int CHUNK_INTS = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_INTS - 1;
+
+    private final IntBuffer[] chunks;
+    final int length;
+
+    private OffHeapIntArray(IntBuffer[] chunks, int length) {
+        this.chunks = chunks;
+        this.length = length;
+    }
+
+    // Zero-filled, writable, in native byte order
+    static OffHeapIntArray allocate(int length) {
+        IntBuffer[] chunks = new IntBuffer[chunkCount(length)];
+        for (int c = 0; c < chunks.length; c++) {
+            int ints = chunkLength(length, c);
+            chunks[c] = ByteBuffer.allocateDirect(4 * ints).order(ByteOrder.nativeOrder()).asIntBuffer();
+        }
+        return new OffHeapIntArray(chunks, length);
+    }
+
+    // Read-only view of length little-endian ints at position; pages are loaded by the OS on demand
+    static OffHeapIntArray map(FileChannel channel, long position, int length) throws IOException {
+        IntBuffer[] chunks = new IntBuffer[chunkCount(length)];
+        for (int c = 0; c < chunks.length; c++) {
+            int ints = chunkLength(length, c);
+            chunks[c] = channel.map(FileChannel.MapMode.READ_ONLY, position + 4L * CHUNK_INTS * c, 4L * ints)
+                    .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        }
+        return new OffHeapIntArray(chunks, length);
+    }
+
+    static OffHeapIntArray of(int[] values) {
+        OffHeapIntArray array = allocate(values.length);
+        for (int c = 0; c < array.chunks.length; c++) {
+            array.chunks[c].put(0, values, c * CHUNK_INTS, chunkLength(values.length, c));
+        }
+        return array;
+    }
+
+    int get(int index) {
+        return chunks[index >>> CHUNK_SHIFT].get(index & CHUNK_MASK);
+    }
+
+    void set(int index, int value) {
+        chunks[index >>> CHUNK_SHIFT].put(index & CHUNK_MASK, value);
+    }
+
+    void add(int index, int delta) {
+        IntBuffer chunk = chunks[index >>> CHUNK_SHIFT];
+        int i = index & CHUNK_MASK;
+        chunk.put(i, chunk.get(i) + delta);
+    }
+
+    // Copies other into this array; both must have the same length
+    void copyFrom(OffHeapIntArray other) {
+        if (other.length != length) {
+            throw new IllegalArgumentException("Length mismatch: " + other.length + " != " + length);
+        }
+        for (int c = 0; c < chunks.length; c++) {
+            chunks[c].put(0, other.chunks[c], 0, other.chunks[c].limit());
+        }
+    }
+
+    private static int chunkCount(int length) {
+        return (int) ((length + (long) CHUNK_MASK) >>> CHUNK_SHIFT);
+    }
+
+    private static int chunkLength(int length, int chunk) {
+        return Math.min(CHUNK_INTS, length - chunk * CHUNK_INTS);
+    }
+}
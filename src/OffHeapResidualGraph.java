@@ -0,0 +1,170 @@
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@link FlowGraph} whose arrays all live outside the Java heap. Loaded from a {@link BinaryGraphFormat}
+ * file, the topology sections are memory-mapped read-only, so the OS pages them in and out and the
+ * graph may exceed both the heap and physical memory; only the residual is a writable direct
+ * buffer. The heap holds a few buffer objects, so GC pauses do not grow with the graph.
+ */
+public class OffHeapResidualGraph implements FlowGraph {
+    private final int n;
+    private final int edgeCount;
+    private final OffHeapIntArray ids;      // ascending, as written by ResidualGraph.EdgeList.build
+    private final OffHeapIntArray firstArc;
+    private final OffHeapIntArray head;
+    private final OffHeapIntArray capacity;
+    private final OffHeapIntArray reverse;
+    private final OffHeapIntArray residual;
+    private volatile int[] eligibleSources; // vertices with an outgoing input edge, built on first use
+
+    private OffHeapResidualGraph(int n, int edgeCount, OffHeapIntArray ids, OffHeapIntArray firstArc,
+                                 OffHeapIntArray head, OffHeapIntArray capacity, OffHeapIntArray reverse) {
+        this.n = n;
+        this.edgeCount = edgeCount;
+        this.ids = ids;
+        this.firstArc = firstArc;
+        this.head = head;
+        this.capacity = capacity;
+        this.reverse = reverse;
+        this.residual = OffHeapIntArray.allocate(capacity.length);
+        residual.copyFrom(capacity);
+    }
+
+    // Copies an on-heap graph off the heap, e.g. for tests or a graph that was just generated
+    static OffHeapResidualGraph of(ResidualGraph graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Input arguments cannot be null.");
+        }
+        OffHeapResidualGraph copy = new OffHeapResidualGraph(graph.n, graph.edgeCount, OffHeapIntArray.of(graph.ids),
+                OffHeapIntArray.of(graph.firstArc), OffHeapIntArray.of(graph.head), OffHeapIntArray.of(graph.capacity),
+                OffHeapIntArray.of(graph.reverse));
+        if (!copy.checkIdsAscending()) {
+            throw new IllegalArgumentException("Vertex ids are not in ascending order.");
+        }
+        return copy;
+    }
+
+    // Maps a BinaryGraphFormat file; the channel may be closed afterwards, mappings stay valid
+    static OffHeapResidualGraph map(Path path) throws IOException {
+        GraphLoadEvent event = GraphLoadEvent.beginLoad();
+        OffHeapResidualGraph graph = mapFile(path);
+        GraphLoadEvent.endLoad(event, path.toString(), "mapped", graph.n, graph.edgeCount);
+        return graph;
+    }
+
+    private static OffHeapResidualGraph mapFile(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            BinaryGraphFormat.Header header = BinaryGraphFormat.readHeader(channel, path);
+            int n = header.n;
+            int arcs = header.arcCount;
+            long position = header.dataOffset;
+            OffHeapIntArray ids = OffHeapIntArray.map(channel, position, n);
+            position += 4L * n;
+            OffHeapIntArray firstArc = OffHeapIntArray.map(channel, position, n + 1);
+            position += 4L * (n + 1);
+            OffHeapIntArray head = OffHeapIntArray.map(channel, position, arcs);
+            position += 4L * arcs;
+            OffHeapIntArray capacity = OffHeapIntArray.map(channel, position, arcs);
+            position += 4L * arcs;
+            OffHeapIntArray reverse = OffHeapIntArray.map(channel, position, arcs);
+
+            OffHeapResidualGraph graph = new OffHeapResidualGraph(n, header.edgeCount, ids, firstArc, head, capacity, reverse);
+            if (!graph.checkIdsAscending()) {
+                throw new IOException("Vertex ids are not in ascending order: " + path);
+            }
+            return graph;
+        }
+    }
+
+    // indexOf binary-searches the ids, which EdgeList.build always emits in ascending order
+    private boolean checkIdsAscending() {
+        for (int v = 1; v < n; v++) {
+            if (ids.get(v - 1) >= ids.get(v)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int vertexCount() {
+        return n;
+    }
+
+    @Override
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public int id(int v) {
+        return ids.get(v);
+    }
+
+    @Override
+    public int indexOf(int id) {
+        int low = 0;
+        int high = n - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midId = ids.get(mid);
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int firstArc(int v) {
+        return firstArc.get(v);
+    }
+
+    @Override
+    public int head(int arc) {
+        return head.get(arc);
+    }
+
+    @Override
+    public int reverse(int arc) {
+        return reverse.get(arc);
+    }
+
+    @Override
+    public int capacity(int arc) {
+        return capacity.get(arc);
+    }
+
+    @Override
+    public int residual(int arc) {
+        return residual.get(arc);
+    }
+
+    @Override
+    public void push(int arc, int amount) {
+        residual.add(arc, -amount);
+        residual.add(reverse.get(arc), amount);
+    }
+
+    @Override
+    public void resetResidual() {
+        residual.copyFrom(capacity);
+    }
+
+    @Override
+    public int[] eligibleSources() {
+        int[] sources = eligibleSources;
+        if (sources == null) {
+            sources = FlowGraph.findEligibleSources(this);
+            eligibleSources = sources;
+        }
+        return sources;
+    }
+}
@@ -0,0 +1,198 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Multi-threaded push-relabel on a {@link ResidualGraph}, after the lock-free algorithm of Hong and He.
+ * Work proceeds in rounds: every active vertex is discharged by exactly one task in a {@link ForkJoinPool},
+ * while residual capacities, excesses and labels are read and updated in place through atomic
+ * {@link VarHandle} operations on the graph's int arrays. Only the owner of a vertex lowers its excess or
+ * residual out-capacity and writes its label, so concurrent pushes never drive a value negative.
+ * Global relabelling is a level-synchronous backward BFS whose frontiers are also expanded in parallel.
+ */
+public class ParallelPushRelabelSimulation {
+    private static final VarHandle INTS = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private final ResidualGraph graph;
+    private final int n;
+    private final int parallelism;
+    private final int[] label;
+    private final int[] excess;
+    private final int[] queued;    // 1 while the vertex sits in the next round's list
+    private int[] active;
+    private int[] next;
+    private int activeSize;
+    private final AtomicInteger nextSize = new AtomicInteger();
+    private final LongAdder relabelsSinceUpdate = new LongAdder();
+
+    private int source;
+    private int sink;
+
+    final LongAdder pushes = new LongAdder();
+    final LongAdder relabels = new LongAdder();
+    int rounds;
+    int globalRelabels;
+
+    ParallelPushRelabelSimulation(ResidualGraph graph, int parallelism) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Input arguments cannot be null.");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        this.graph = graph;
+        this.n = graph.n;
+        this.parallelism = parallelism;
+        this.label = new int[n];
+        this.excess = new int[n];
+        this.queued = new int[n];
+        this.active = new int[n];
+        this.next = new int[n];
+    }
+
+    int maxFlow(int source, int sink) {
+        if (source < 0 || sink < 0) {
+            throw new IllegalArgumentException("Input arguments cannot be null.");
+        }
+        if (source == sink) {
+            return 0;
+        }
+        this.source = source;
+        this.sink = sink;
+        Arrays.fill(excess, 0);
+
+        // Saturate every arc out of the source
+        int[] residual = graph.residual;
+        for (int a = graph.firstArc[source]; a < graph.firstArc[source + 1]; a++) {
+            int delta = residual[a];
+            if (delta > 0) {
+                residual[a] = 0;
+                residual[graph.reverse[a]] += delta;
+                excess[graph.head[a]] += delta;
+                excess[source] -= delta;
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            globalRelabel(pool);
+            while (activeSize > 0) {
+                rounds++;
+                int size = activeSize;
+                int[] round = active;
+                for (int i = 0; i < size; i++) {
+                    queued[round[i]] = 0;
+                }
+                nextSize.set(0);
+                // join() orders this round's writes before the next round's reads
+                pool.submit(() -> IntStream.range(0, size).parallel().forEach(i -> discharge(round[i]))).join();
+
+                active = next;
+                next = round;
+                activeSize = nextSize.get();
+                if (relabelsSinceUpdate.sum() > n) {
+                    globalRelabel(pool);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return excess[sink];
+    }
+
+    // Pushes to the lowest residual neighbour or relabels, until u is empty or cut off from the sink
+    private void discharge(int u) {
+        int[] firstArc = graph.firstArc;
+        int[] head = graph.head;
+        int[] residual = graph.residual;
+        int[] reverse = graph.reverse;
+        int height = (int) INTS.getVolatile(label, u);
+
+        while (height < n) {
+            int e = (int) INTS.getVolatile(excess, u);
+            if (e <= 0) {
+                return;
+            }
+            int lowest = Integer.MAX_VALUE;
+            int lowestArc = -1;
+            for (int a = firstArc[u], end = firstArc[u + 1]; a < end; a++) {
+                if ((int) INTS.getVolatile(residual, a) > 0) {
+                    int h = (int) INTS.getVolatile(label, head[a]);
+                    if (h < lowest) {
+                        lowest = h;
+                        lowestArc = a;
+                    }
+                }
+            }
+            if (lowestArc == -1) {
+                INTS.setVolatile(label, u, n);
+                return;
+            }
+
+            if (height > lowest) {
+                int delta = Math.min(e, (int) INTS.getVolatile(residual, lowestArc));
+                int v = head[lowestArc];
+                INTS.getAndAdd(residual, lowestArc, -delta);
+                INTS.getAndAdd(residual, reverse[lowestArc], delta);
+                INTS.getAndAdd(excess, u, -delta);
+                int before = (int) INTS.getAndAdd(excess, v, delta);
+                pushes.increment();
+                if (before == 0 && v != sink && v != source && INTS.compareAndSet(queued, v, 0, 1)) {
+                    next[nextSize.getAndIncrement()] = v;
+                }
+            } else {
+                height = lowest + 1;
+                INTS.setVolatile(label, u, height);
+                relabels.increment();
+                relabelsSinceUpdate.increment();
+            }
+        }
+    }
+
+    // Exact distance labels by a parallel level-synchronous BFS from the sink, then rebuilds the active list
+    private void globalRelabel(ForkJoinPool pool) {
+        globalRelabels++;
+        relabelsSinceUpdate.reset();
+        Arrays.fill(label, n);
+        label[sink] = 0;
+
+        int[] frontier = active;
+        int[] nextFrontier = next;
+        frontier[0] = sink;
+        int frontierSize = 1;
+        int depth = 0;
+        while (frontierSize > 0) {
+            nextSize.set(0);
+            int size = frontierSize;
+            int newLabel = depth + 1;
+            int[] current = frontier;
+            int[] discovered = nextFrontier;
+            pool.submit(() -> IntStream.range(0, size).parallel().forEach(i -> {
+                int u = current[i];
+                for (int a = graph.firstArc[u], end = graph.firstArc[u + 1]; a < end; a++) {
+                    int v = graph.head[a];
+                    if (v != source && graph.residual[graph.reverse[a]] > 0
+                            && INTS.compareAndSet(label, v, n, newLabel)) {
+                        discovered[nextSize.getAndIncrement()] = v;
+                    }
+                }
+            })).join();
+            frontier = discovered;
+            nextFrontier = current;
+            frontierSize = nextSize.get();
+            depth++;
+        }
+
+        Arrays.fill(queued, 0);
+        activeSize = 0;
+        for (int v = 0; v < n; v++) {
+            if (v != source && v != sink && excess[v] > 0 && label[v] < n) {
+                active[activeSize++] = v;
+            }
+        }
+    }
+}
@@ -0,0 +1,200 @@
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a whole (n, r, upperCap) grid with several replicates in one JVM. Every replicate generates
+ * its graph in memory from a seed derived from the base seed and its grid position, picks source and
+ * sink with a Random on the same seed, samples the diameter, and then solves every strategy from
+ * {@link Helper#strategies} as a forked subtask. The Random strategy's seed comes from the same Random,
+ * so a replicate's rows are reproducible from its seed column alone. All of it runs on one work-stealing
+ * {@link ForkJoinPool}, so idle threads pick up strategies of other replicates, and each Result row
+ * is appended to the output file as soon as it completes.
+ * <p>
+ * The pool already keeps every core busy, so Par-PR runs on a single thread here. A pool of its own
+ * per solve would oversubscribe the CPU and its wall times would measure contention instead.
+ */
+public class ParameterSweep {
+    static final String HEADER = "replicate,seed,source,sink,sinkDistance,diameter," + Result.CSV_HEADER;
+    private static final int DIAMETER_SAMPLES = 4;
+
+    private final int[] ns;
+    private final double[] rs;
+    private final int[] upperCaps;
+    private final int replicates;
+    private final long baseSeed;
+
+    ParameterSweep(int[] ns, double[] rs, int[] upperCaps, int replicates, long baseSeed) {
+        if (ns == null || rs == null || upperCaps == null) {
+            throw new IllegalArgumentException("Input arguments cannot be null.");
+        }
+        if (replicates < 1) {
+            throw new IllegalArgumentException("At least one replicate is needed: " + replicates);
+        }
+        this.ns = ns;
+        this.rs = rs;
+        this.upperCaps = upperCaps;
+        this.replicates = replicates;
+        this.baseSeed = baseSeed;
+    }
+
+    // Runs the sweep on a pool of the given size, writing HEADER and then one row per Result; returns the row count
+    int run(Writer out, int threads) throws IOException {
+        out.write(HEADER);
+        out.write('\n');
+        out.flush();
+
+        AtomicInteger rows = new AtomicInteger();
+        List<ForkJoinTask<?>> replicateTasks = new ArrayList<>();
+        int point = 0;
+        for (int n : ns) {
+            for (double r : rs) {
+                for (int upperCap : upperCaps) {
+                    for (int replicate = 0; replicate < replicates; replicate++) {
+                        long seed = seed(baseSeed, point, replicate);
+                        replicateTasks.add(new ReplicateTask(n, r, upperCap, replicate, seed, out, rows));
+                    }
+                    point++;
+                }
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(Math.max(threads, 1));
+        try {
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(replicateTasks);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            pool.shutdownNow();
+        }
+        return rows.get();
+    }
+
+    // SplitMix64 finaliser over the base seed and grid position, so replicates get unrelated streams
+    static long seed(long baseSeed, int point, int replicate) {
+        long z = baseSeed + 0x9E3779B97F4A7C15L * (((long) point << 20) + replicate + 1);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Generates one graph and forks one subtask per strategy on it.
+     */
+    private static class ReplicateTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int n;
+        private final double r;
+        private final int upperCap;
+        private final int replicate;
+        private final long seed;
+        private final Writer out;
+        private final AtomicInteger rows;
+
+        ReplicateTask(int n, double r, int upperCap, int replicate, long seed, Writer out, AtomicInteger rows) {
+            this.n = n;
+            this.r = r;
+            this.upperCap = upperCap;
+            this.replicate = replicate;
+            this.seed = seed;
+            this.out = out;
+            this.rows = rows;
+        }
+
+        @Override
+        protected void compute() {
+            ResidualGraph graph = new GraphGenerator().generateResidualGraph(n, r, upperCap, seed);
+            Random random = new Random(seed);
+            int source = graph.getRandomVertex(random);
+            if (source < 0) {
+                return; // no edges at this radius, nothing to solve
+            }
+            DirectionOptimizingBFS bfs = new DirectionOptimizingBFS(graph);
+            bfs.overEdges(source);
+            int sink = bfs.farthest;
+            int sinkDistance = bfs.eccentricity;
+            int diameter = Math.max(sinkDistance, bfs.estimateDiameter(DIAMETER_SAMPLES, random));
+            String prefix = replicate + "," + seed + "," + graph.ids[source] + "," + graph.ids[sink] + ","
+                    + sinkDistance + "," + diameter + ",";
+
+            List<RecursiveAction> solves = new ArrayList<>();
+            for (Callable<Result> strategy : Helper.strategies(graph, source, sink, random.nextLong(), 1, true)) {
+                solves.add(new RecursiveAction() {
+                    @Override
+                    protected void compute() {
+                        Result result;
+                        try {
+                            result = strategy.call();
+                        } catch (RuntimeException e) {
+                            throw e;
+                        } catch (Exception e) {
+                            throw new IllegalStateException("Strategy failed", e);
+                        }
+                        write(prefix + result.toCsvString(n, r, upperCap));
+                    }
+                });
+            }
+            invokeAll(solves);
+        }
+
+        private void write(String row) {
+            synchronized (out) {
+                try {
+                    out.write(row);
+                    out.write('\n');
+                    out.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            rows.incrementAndGet();
+        }
+    }
+
+    private static int[] parseInts(String list) {
+        return Arrays.stream(list.split(",")).mapToInt(s -> Integer.parseInt(s.trim())).toArray();
+    }
+
+    private static double[] parseDoubles(String list) {
+        return Arrays.stream(list.split(",")).mapToDouble(s -> Double.parseDouble(s.trim())).toArray();
+    }
+
+    /**
+     * Usage: ParameterSweep output.csv nList rList upperCapList replicates [seed [threads]]
+     * Lists are comma-separated, e.g. ParameterSweep sweep.csv 100,200,1000 0.2,0.3,0.5 2,50 5
+     */
+    public static void main(String[] args) throws IOException {
+        SolverMetrics.publish();
+        int[] ns = parseInts(args[1]);
+        double[] rs = parseDoubles(args[2]);
+        int[] upperCaps = parseInts(args[3]);
+        int replicates = Integer.parseInt(args[4]);
+        long seed = args.length > 5 ? Long.parseLong(args[5]) : new Random().nextLong();
+        int threads = args.length > 6 ? Integer.parseInt(args[6]) : Runtime.getRuntime().availableProcessors();
+
+        long start = System.nanoTime();
+        int rows;
+        try (Writer out = new BufferedWriter(new FileWriter(args[0]))) {
+            rows = new ParameterSweep(ns, rs, upperCaps, replicates, seed).run(out, threads);
+        }
+        System.out.printf("%d rows written to %s in %.1f s (seed %d, %d threads)%n",
+                rows, args[0], (System.nanoTime() - start) / 1e9, seed, threads);
+    }
+}
@@ -0,0 +1,26 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("maxflow.PathSearch")
+@Label("Path Search")
+@Category("Max Flow")
+@Description("One augmenting-path search over the residual graph")
+class PathSearchEvent extends jdk.jfr.Event {
+    @Label("Search Kind")
+    String kind;
+
+    @Label("Found")
+    boolean found;
+
+    @Label("Path Length")
+    @Description("Arcs on the path found, 0 if none")
+    int pathLength;
+
+    @Label("Vertices Scanned")
+    long verticesScanned;
+
+    @Label("Arcs Relaxed")
+    long arcsRelaxed;
+}
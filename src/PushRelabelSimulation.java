@@ -0,0 +1,225 @@
+import java.util.Arrays;
+
+/**
+ * Highest-label preflow-push on any {@link FlowGraph} with the gap heuristic and periodic global
+ * relabelling by a backward BFS from the sink. Only the first phase runs: the flow value is exact,
+ * but excess that cannot reach the sink is left on its vertices instead of being returned to the source.
+ */
+public class PushRelabelSimulation {
+    private final FlowGraph graph;
+    private final int n;
+    private final int[] label;
+    private final int[] excess;
+    private final int[] currentArc;
+    private final int[] queue;
+
+    // Active vertices per label (singly linked stacks) and all vertices per label (doubly linked, for gaps)
+    private final int[] activeHead;
+    private final int[] activeNext;
+    private final int[] allHead;
+    private final int[] allNext;
+    private final int[] allPrev;
+    private int maxActive;
+    private int maxLabel;
+
+    private int source;
+    private int sink;
+    private int relabelsSinceUpdate;
+
+    int pushes;
+    int relabels;
+    int gaps;
+    int globalRelabels;
+
+    PushRelabelSimulation(FlowGraph graph) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Input arguments cannot be null.");
+        }
+        this.graph = graph;
+        this.n = graph.vertexCount();
+        this.label = new int[n];
+        this.excess = new int[n];
+        this.currentArc = new int[n];
+        this.queue = new int[n];
+        this.activeHead = new int[n + 1];
+        this.activeNext = new int[n];
+        this.allHead = new int[n + 1];
+        this.allNext = new int[n];
+        this.allPrev = new int[n];
+    }
+
+    int maxFlow(int source, int sink) {
+        if (source < 0 || sink < 0) {
+            throw new IllegalArgumentException("Input arguments cannot be null.");
+        }
+        if (source == sink) {
+            return 0;
+        }
+        this.source = source;
+        this.sink = sink;
+        Arrays.fill(excess, 0);
+
+        // Saturate every arc out of the source
+        for (int a = graph.firstArc(source), end = graph.firstArc(source + 1); a < end; a++) {
+            int delta = graph.residual(a);
+            if (delta > 0) {
+                graph.push(a, delta);
+                excess[graph.head(a)] += delta;
+                excess[source] -= delta;
+            }
+        }
+
+        globalRelabel();
+        while (maxActive >= 0) {
+            int u = activeHead[maxActive];
+            if (u == -1) {
+                maxActive--;
+                continue;
+            }
+            activeHead[maxActive] = activeNext[u];
+            discharge(u);
+            if (relabelsSinceUpdate > n) {
+                globalRelabel();
+            }
+        }
+        return excess[sink];
+    }
+
+    private void discharge(int u) {
+        FlowGraph graph = this.graph;
+
+        while (excess[u] > 0) {
+            int end = graph.firstArc(u + 1);
+            int a = currentArc[u];
+            int target = label[u] - 1;
+            for (; a < end; a++) {
+                int v = graph.head(a);
+                int r = graph.residual(a);
+                if (r > 0 && label[v] == target) {
+                    int delta = Math.min(excess[u], r);
+                    graph.push(a, delta);
+                    if (excess[v] == 0 && v != sink) {
+                        pushActive(v);
+                    }
+                    excess[u] -= delta;
+                    excess[v] += delta;
+                    pushes++;
+                    if (excess[u] == 0) {
+                        break; // keep the current arc, it may still have residual capacity
+                    }
+                }
+            }
+            currentArc[u] = a;
+            if (excess[u] > 0 && !relabel(u)) {
+                return; // u can no longer reach the sink
+            }
+        }
+    }
+
+    // Raises u to one above its lowest residual neighbour; returns false if u was cut off from the sink
+    private boolean relabel(int u) {
+        relabels++;
+        relabelsSinceUpdate++;
+        int oldLabel = label[u];
+        removeFromLabel(u);
+
+        if (allHead[oldLabel] == -1) {
+            // Gap: nothing is left on oldLabel, so u and everything above it cannot reach the sink
+            gaps++;
+            label[u] = n;
+            for (int d = oldLabel + 1; d <= maxLabel; d++) {
+                for (int v = allHead[d]; v != -1; v = allNext[v]) {
+                    label[v] = n;
+                }
+                allHead[d] = -1;
+                activeHead[d] = -1;
+            }
+            maxLabel = oldLabel - 1;
+            maxActive = Math.min(maxActive, maxLabel);
+            return false;
+        }
+
+        int newLabel = n;
+        for (int a = graph.firstArc(u), end = graph.firstArc(u + 1); a < end; a++) {
+            if (graph.residual(a) > 0 && label[graph.head(a)] + 1 < newLabel) {
+                newLabel = label[graph.head(a)] + 1;
+            }
+        }
+        label[u] = newLabel;
+        currentArc[u] = graph.firstArc(u);
+        if (newLabel >= n) {
+            return false;
+        }
+        addToLabel(u);
+        return true;
+    }
+
+    // Exact distance labels by a backward BFS from the sink over residual arcs
+    private void globalRelabel() {
+        globalRelabels++;
+        relabelsSinceUpdate = 0;
+        Arrays.fill(label, n);
+        Arrays.fill(activeHead, -1);
+        Arrays.fill(allHead, -1);
+        maxActive = -1;
+        maxLabel = 0;
+
+        FlowGraph graph = this.graph;
+        int queueHead = 0;
+        int queueTail = 0;
+        queue[queueTail++] = sink;
+        label[sink] = 0;
+
+        while (queueHead < queueTail) {
+            int u = queue[queueHead++];
+            for (int a = graph.firstArc(u), end = graph.firstArc(u + 1); a < end; a++) {
+                int v = graph.head(a);
+                if (label[v] == n && v != source && graph.residual(graph.reverse(a)) > 0) {
+                    label[v] = label[u] + 1;
+                    queue[queueTail++] = v;
+                }
+            }
+        }
+
+        for (int i = 1; i < queueTail; i++) {
+            int v = queue[i];
+            currentArc[v] = graph.firstArc(v);
+            addToLabel(v);
+            if (excess[v] > 0) {
+                pushActive(v);
+            }
+        }
+    }
+
+    private void pushActive(int v) {
+        int d = label[v];
+        if (d >= n) {
+            return;
+        }
+        activeNext[v] = activeHead[d];
+        activeHead[d] = v;
+        maxActive = Math.max(maxActive, d);
+    }
+
+    private void addToLabel(int v) {
+        int d = label[v];
+        allPrev[v] = -1;
+        allNext[v] = allHead[d];
+        if (allHead[d] != -1) {
+            allPrev[allHead[d]] = v;
+        }
+        allHead[d] = v;
+        maxLabel = Math.max(maxLabel, d);
+    }
+
+    private void removeFromLabel(int v) {
+        if (allPrev[v] != -1) {
+            allNext[allPrev[v]] = allNext[v];
+        } else {
+            allHead[label[v]] = allNext[v];
+        }
+        if (allNext[v] != -1) {
+            allPrev[allNext[v]] = allPrev[v];
+        }
+    }
+}
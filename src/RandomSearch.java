@@ -0,0 +1,82 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Reusable randomized augmenting path search over any {@link FlowGraph}. A vertex gets a random
+ * key when it is first discovered and vertices are expanded in key order; the parent never changes
+ * after discovery, so the search stops once the sink is labelled. Keys come from one
+ * {@link SplittableRandom} per instance, so the same seed replays the same paths, and all buffers
+ * are allocated once, so repeated searches allocate nothing.
+ */
+public class RandomSearch {
+    private final FlowGraph graph;
+    private SplittableRandom random;
+    private final int[] visited;    // vertex is labelled in this search iff visited[v] == epoch
+    private final int[] parentArc;
+    private final IndexedMinHeap queue;
+    private final SearchProbe probe = new SearchProbe("Random");
+    private int epoch;
+
+    final int[] path;               // arcs of the last path found, source to sink
+    int pathLength;
+
+    RandomSearch(FlowGraph graph, long seed) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Input arguments cannot be null.");
+        }
+        int n = graph.vertexCount();
+        this.graph = graph;
+        this.random = new SplittableRandom(seed);
+        this.visited = new int[n];
+        this.parentArc = new int[n];
+        this.queue = new IndexedMinHeap(n);
+        this.path = new int[n];
+    }
+
+    // Restarts the key sequence, so a reused instance replays exactly what a new one with this seed would
+    void reseed(long seed) {
+        random = new SplittableRandom(seed);
+    }
+
+    // Returns true and fills path/pathLength if the sink is reachable in the residual graph
+    boolean search(int source, int sink) {
+        if (source < 0 || sink < 0) {
+            throw new IllegalArgumentException("Input arguments cannot be null.");
+        }
+        if (++epoch == Integer.MAX_VALUE) {
+            Arrays.fill(visited, 0);
+            epoch = 1;
+        }
+        pathLength = 0;
+        if (source == sink) {
+            return false;
+        }
+        probe.start();
+        long relaxed = 0;
+        long pops = 0;
+
+        FlowGraph graph = this.graph;
+        queue.clear();
+        queue.push(source, 0);
+        visited[source] = epoch;
+
+        while (!queue.isEmpty()) {
+            int u = queue.pop();
+            pops++;
+            for (int a = graph.firstArc(u), end = graph.firstArc(u + 1); a < end; a++) {
+                int v = graph.head(a);
+                if (graph.residual(a) > 0 && visited[v] != epoch) {
+                    visited[v] = epoch;
+                    parentArc[v] = a;
+                    relaxed++;
+                    if (v == sink) {
+                        pathLength = graph.pathTo(parentArc, source, sink, path);
+                        return probe.finish(true, pathLength, pops, relaxed, relaxed, pops);
+                    }
+                    queue.push(v, random.nextInt(Integer.MAX_VALUE / 2));
+                }
+            }
+        }
+        return probe.finish(false, 0, pops, relaxed, relaxed, pops);
+    }
+}
@@ -1,11 +1,10 @@
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class RandomSimulation {
 
     // Dijkstra's algorithm treating edges with non-zero capacity
     static List<Vertex> randomDijkstra(Graph graph, Vertex source, Vertex sink) {
-        System.out.println("Inside random dijkstra dfs like");
-
         if (graph == null || source == null || sink == null) {
             throw new IllegalArgumentException("Input arguments cannot be null.");
         }
@@ -13,6 +12,7 @@ public class RandomSimulation {
         Map<Vertex, Vertex> predecessors = new HashMap<>();
         Map<Vertex, Integer> distances = new HashMap<>();
         PriorityQueue<Vertex> queue = new PriorityQueue<>(Comparator.comparingInt(distances::get));
+        Random random = ThreadLocalRandom.current();
 
         for (Vertex vertex : graph.vertices.values()) {
             distances.put(vertex, Integer.MAX_VALUE / 2); // Avoid integer overflow
@@ -36,7 +36,7 @@ public class RandomSimulation {
                     Integer currentDistance = distances.get(neighbor);
 
                     if (currentDistance == null || currentDistance == Integer.MAX_VALUE / 2) {
-                        distances.put(neighbor, new Random().nextInt(Integer.MAX_VALUE / 2));
+                        distances.put(neighbor, random.nextInt(Integer.MAX_VALUE / 2));
                         predecessors.put(neighbor, currentVertex);
                         queue.add(neighbor);
 
@@ -60,4 +60,13 @@ public class RandomSimulation {
         Collections.reverse(path);
         return path;
     }
+
+    // One-shot randomized search; solvers keep a RandomSearch so its buffers and seed carry across augmentations
+    static int[] randomDijkstra(FlowGraph graph, int source, int sink) {
+        RandomSearch search = new RandomSearch(graph, ThreadLocalRandom.current().nextLong());
+        if (!search.search(source, sink)) {
+            return new int[0];
+        }
+        return Arrays.copyOf(search.path, search.pathLength);
+    }
 }
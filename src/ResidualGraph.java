@@ -0,0 +1,246 @@
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Compressed-sparse-row residual graph.
+ * Vertices are renumbered densely to 0..n-1 and every input edge becomes a forward arc plus
+ * a paired reverse arc, both stored in the outgoing range of their tail vertex.
+ * Everything except {@code residual} is immutable topology and may be shared between copies.
+ * The searches go through the {@link FlowGraph} accessors, so they also run on an
+ * {@link OffHeapResidualGraph}; graph-wide passes such as reduction read the arrays directly.
+ */
+public class ResidualGraph implements FlowGraph {
+    final int n;
+    final int[] ids;        // dense index -> original vertex id
+    final int[] indexById;  // original vertex id -> dense index, -1 if absent
+    final int[] firstArc;   // arcs of vertex v are firstArc[v] .. firstArc[v + 1] - 1
+    final int[] head;
+    final int[] capacity;   // original capacity, 0 for reverse arcs
+    final int[] residual;   // remaining residual capacity
+    final int[] reverse;    // index of the paired arc
+    final int edgeCount;    // number of input edges (forward arcs)
+    private int maxCapacity = -1;
+    private volatile int[] eligibleSources; // vertices with an outgoing input edge, built on first use
+
+    private ResidualGraph(int n, int[] ids, int[] indexById, int[] firstArc, int[] head,
+                          int[] capacity, int[] residual, int[] reverse, int edgeCount) {
+        this.n = n;
+        this.ids = ids;
+        this.indexById = indexById;
+        this.firstArc = firstArc;
+        this.head = head;
+        this.capacity = capacity;
+        this.residual = residual;
+        this.reverse = reverse;
+        this.edgeCount = edgeCount;
+    }
+
+    // Rebuilds a graph from stored CSR arrays; the residual starts at the original capacities
+    static ResidualGraph fromArrays(int[] ids, int[] firstArc, int[] head, int[] capacity, int[] reverse, int edgeCount) {
+        int maxId = -1;
+        for (int id : ids) {
+            maxId = Math.max(maxId, id);
+        }
+        int[] indexById = new int[maxId + 1];
+        Arrays.fill(indexById, -1);
+        for (int v = 0; v < ids.length; v++) {
+            indexById[ids[v]] = v;
+        }
+        return new ResidualGraph(ids.length, ids, indexById, firstArc, head, capacity, capacity.clone(), reverse, edgeCount);
+    }
+
+    // Fresh residual graph over the same topology: only the residual array is copied, the rest is shared
+    ResidualGraph copy() {
+        ResidualGraph copy = new ResidualGraph(n, ids, indexById, firstArc, head, capacity, capacity.clone(), reverse, edgeCount);
+        copy.maxCapacity = maxCapacity;
+        copy.eligibleSources = eligibleSources;
+        return copy;
+    }
+
+    // Restores the residual to the original capacities, i.e. the zero flow, without allocating
+    @Override
+    public void resetResidual() {
+        System.arraycopy(capacity, 0, residual, 0, residual.length);
+    }
+
+    // Computed once per instance
+    @Override
+    public int maxCapacity() {
+        if (maxCapacity < 0) {
+            int max = 0;
+            for (int c : capacity) {
+                max = Math.max(max, c);
+            }
+            maxCapacity = max;
+        }
+        return maxCapacity;
+    }
+
+    @Override
+    public int indexOf(int id) {
+        return id >= 0 && id < indexById.length ? indexById[id] : -1;
+    }
+
+    @Override
+    public int vertexCount() {
+        return n;
+    }
+
+    @Override
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    @Override
+    public int id(int v) {
+        return ids[v];
+    }
+
+    @Override
+    public int firstArc(int v) {
+        return firstArc[v];
+    }
+
+    @Override
+    public int head(int arc) {
+        return head[arc];
+    }
+
+    @Override
+    public int reverse(int arc) {
+        return reverse[arc];
+    }
+
+    @Override
+    public int capacity(int arc) {
+        return capacity[arc];
+    }
+
+    @Override
+    public int residual(int arc) {
+        return residual[arc];
+    }
+
+    @Override
+    public void push(int arc, int amount) {
+        residual[arc] -= amount;
+        residual[reverse[arc]] += amount;
+    }
+
+    @Override
+    public int tail(int arc) {
+        return head[reverse[arc]];
+    }
+
+    boolean isForward(int arc) {
+        return capacity[arc] > 0;
+    }
+
+    // Indexed once per topology and shared by copies, so picking a source is O(1) after the first call
+    @Override
+    public int[] eligibleSources() {
+        int[] sources = eligibleSources;
+        if (sources == null) {
+            sources = FlowGraph.findEligibleSources(this);
+            eligibleSources = sources;
+        }
+        return sources;
+    }
+
+    static ResidualGraph fromGraph(Graph graph) {
+        EdgeList edges = new EdgeList();
+        for (Vertex u : graph.vertices.values()) {
+            edges.addVertex(u.id);
+            for (Map.Entry<Vertex, Integer> entry : u.neighbors.entrySet()) {
+                edges.add(u.id, entry.getKey().id, entry.getValue());
+            }
+        }
+        return edges.build();
+    }
+
+    /**
+     * Growable primitive edge buffer used while parsing, turned into a {@link ResidualGraph} by {@link #build()}.
+     */
+    static class EdgeList {
+        private int[] tails = new int[1024];
+        private int[] heads = new int[1024];
+        private int[] capacities = new int[1024];
+        private int size;
+        private int maxId = -1;
+        private boolean[] seen = new boolean[1024];
+
+        void addVertex(int id) {
+            if (id < 0) {
+                throw new IllegalArgumentException("Vertex ids must be non-negative: " + id);
+            }
+            if (id >= seen.length) {
+                seen = Arrays.copyOf(seen, Math.max(seen.length * 2, id + 1));
+            }
+            seen[id] = true;
+            maxId = Math.max(maxId, id);
+        }
+
+        void add(int uId, int vId, int capacity) {
+            addVertex(uId);
+            addVertex(vId);
+            if (size == tails.length) {
+                int newLength = size * 2;
+                tails = Arrays.copyOf(tails, newLength);
+                heads = Arrays.copyOf(heads, newLength);
+                capacities = Arrays.copyOf(capacities, newLength);
+            }
+            tails[size] = uId;
+            heads[size] = vId;
+            capacities[size] = capacity;
+            size++;
+        }
+
+        int size() {
+            return size;
+        }
+
+        ResidualGraph build() {
+            int[] indexById = new int[maxId + 1];
+            Arrays.fill(indexById, -1);
+            int n = 0;
+            for (int id = 0; id <= maxId; id++) {
+                if (seen[id]) {
+                    indexById[id] = n++;
+                }
+            }
+            int[] ids = new int[n];
+            for (int id = 0; id <= maxId; id++) {
+                if (seen[id]) {
+                    ids[indexById[id]] = id;
+                }
+            }
+
+            int[] firstArc = new int[n + 1];
+            for (int e = 0; e < size; e++) {
+                firstArc[indexById[tails[e]] + 1]++;
+                firstArc[indexById[heads[e]] + 1]++;
+            }
+            for (int v = 0; v < n; v++) {
+                firstArc[v + 1] += firstArc[v];
+            }
+
+            int arcs = 2 * size;
+            int[] head = new int[arcs];
+            int[] capacity = new int[arcs];
+            int[] reverse = new int[arcs];
+            int[] next = Arrays.copyOf(firstArc, n);
+            for (int e = 0; e < size; e++) {
+                int u = indexById[tails[e]];
+                int v = indexById[heads[e]];
+                int forward = next[u]++;
+                int backward = next[v]++;
+                head[forward] = v;
+                capacity[forward] = capacities[e];
+                reverse[forward] = backward;
+                head[backward] = u;
+                reverse[backward] = forward;
+            }
+            return new ResidualGraph(n, ids, indexById, firstArc, head, capacity, capacity.clone(), reverse, size);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("maxflow.ResidualUpdate")
+@Label("Residual Update")
+@Category("Max Flow")
+@Description("One augmentation pushed along a path by FordFulkerson")
+class ResidualUpdateEvent extends jdk.jfr.Event {
+    @Label("Path Length")
+    int pathLength;
+
+    @Label("Amount")
+    @Description("Flow pushed, the bottleneck capacity of the path")
+    int amount;
+}
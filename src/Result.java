@@ -1,23 +1,103 @@
+import java.util.Locale;
+
 public class Result {
+    static final String CSV_HEADER = "algorithm,n,r,upperCap,paths,meanLength,meanProportionalLength,totalEdges,maxFlow,timeMs,phases,searches";
+
     private final String simulationName;
     private final int maxFlow;
     private final int paths;
     private final double meanLength;
     private final double meanProportionalLength;
     private final int totalEdges;
-
+    private final double wallTimeMillis;
+    private final long upperBound;      // certified bound on the true maximum flow; equals maxFlow when exact
+    private final int phases;           // scaling phases or level graphs; 0 for strategies without phases
+    private final int searches;         // path searches run, including the failed ones that end phases
 
     public Result(String simulationName, int maxFlow, int paths, double meanLength, double meanProportionalLength, int totalEdges) {
+        this(simulationName, maxFlow, paths, meanLength, meanProportionalLength, totalEdges, 0);
+    }
+
+    public Result(String simulationName, int maxFlow, int paths, double meanLength, double meanProportionalLength, int totalEdges, double wallTimeMillis) {
+        this(simulationName, maxFlow, paths, meanLength, meanProportionalLength, totalEdges, wallTimeMillis, maxFlow);
+    }
+
+    // An approximate result: maxFlow is a feasible flow and the true maximum lies in [maxFlow, upperBound]
+    public Result(String simulationName, int maxFlow, int paths, double meanLength, double meanProportionalLength, int totalEdges, double wallTimeMillis, long upperBound) {
+        this(simulationName, maxFlow, paths, meanLength, meanProportionalLength, totalEdges, wallTimeMillis, upperBound, 0, 0);
+    }
+
+    private Result(String simulationName, int maxFlow, int paths, double meanLength, double meanProportionalLength, int totalEdges, double wallTimeMillis, long upperBound,
+                   int phases, int searches) {
         this.simulationName = simulationName;
         this.maxFlow = maxFlow;
         this.paths = paths;
         this.meanLength = meanLength;
         this.meanProportionalLength = meanProportionalLength;
         this.totalEdges = totalEdges;
+        this.wallTimeMillis = wallTimeMillis;
+        this.upperBound = upperBound;
+        this.phases = phases;
+        this.searches = searches;
+    }
+
+    String simulationName() {
+        return simulationName;
+    }
+
+    int maxFlow() {
+        return maxFlow;
+    }
+
+    int paths() {
+        return paths;
+    }
+
+    double meanLength() {
+        return meanLength;
+    }
+
+    double meanProportionalLength() {
+        return meanProportionalLength;
+    }
+
+    int totalEdges() {
+        return totalEdges;
+    }
+
+    long upperBound() {
+        return upperBound;
+    }
+
+    int phases() {
+        return phases;
+    }
+
+    int searches() {
+        return searches;
+    }
+
+    boolean isExact() {
+        return upperBound == maxFlow;
+    }
+
+    public Result withWallTime(double wallTimeMillis) {
+        return new Result(simulationName, maxFlow, paths, meanLength, meanProportionalLength, totalEdges, wallTimeMillis, upperBound, phases, searches);
+    }
+
+    // For strategies that work in phases, such as capacity scaling and Dinic
+    public Result withPhases(int phases, int searches) {
+        return new Result(simulationName, maxFlow, paths, meanLength, meanProportionalLength, totalEdges, wallTimeMillis, upperBound, phases, searches);
     }
 
     public String toFormattedString(int n, double r, int upperCap) {
-        return String.format("%-10s\t%-5s\t%-5.2f\t%-10s\t%-7s\t%-5.2f\t%-5.2f\t%-10s\t%-5s",
-                simulationName, n, r, upperCap, paths, meanLength, meanProportionalLength, totalEdges, maxFlow);
+        return String.format("%-10s\t%-5s\t%-5.2f\t%-10s\t%-7s\t%-5.2f\t%-5.2f\t%-10s\t%-5s\t%-8.1f\t%-6s\t%-8s",
+                simulationName, n, r, upperCap, paths, meanLength, meanProportionalLength, totalEdges, maxFlow, wallTimeMillis, phases, searches);
+    }
+
+    // One machine-readable row matching CSV_HEADER
+    public String toCsvString(int n, double r, int upperCap) {
+        return String.format(Locale.ROOT, "%s,%d,%s,%d,%d,%.4f,%.4f,%d,%d,%.3f,%d,%d",
+                simulationName, n, r, upperCap, paths, meanLength, meanProportionalLength, totalEdges, maxFlow, wallTimeMillis, phases, searches);
     }
 }
@@ -0,0 +1,79 @@
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class RunAnytimeSimulation {
+    RunAnytimeSimulation() {}
+
+    // budgetMillis <= 0 means no time limit; gap is the accepted (upper - lower) / upper, 0 for exact
+    public Result runAnytimeSimulation(ResidualGraph graph, int source, int sink, String type, double budgetMillis, double gap) {
+        AnytimeMaxFlow flow = new AnytimeMaxFlow(graph, source, sink);
+        flow.run((long) (budgetMillis * 1_000_000), gap);
+        Result result = flow.result(type);
+
+        System.out.println("Maximum Flow: " + result.maxFlow());
+        System.out.println("Upper Bound: " + result.upperBound());
+        System.out.println("Exact: " + result.isExact());
+        System.out.println("Paths: " + result.paths());
+        System.out.println("Level Graphs: " + flow.phases);
+        System.out.println("Mean Length: " + result.meanLength());
+        System.out.println("Mean Proportional Length: " + result.meanProportionalLength());
+        System.out.println("Total Edges: " + result.totalEdges());
+
+        return result;
+    }
+
+    /**
+     * Solves in slices of sliceMillis and prints the bounds after each one, until the budget or
+     * the gap is reached, then compares the answer with an exact Dinic solve.
+     * The source is drawn from a printed seed, which can be passed back to replay the run.
+     * Usage: RunAnytimeSimulation n r upperCap budgetMillis gap [sliceMillis [seed]]
+     */
+    public static void main(String[] args) throws IOException {
+        SolverMetrics.publish();
+        int n = Integer.parseInt(args[0]);
+        double r = Double.parseDouble(args[1]);
+        int upperCap = Integer.parseInt(args[2]);
+        double budgetMillis = Double.parseDouble(args[3]);
+        double gap = Double.parseDouble(args[4]);
+        double sliceMillis = args.length > 5 ? Double.parseDouble(args[5]) : Math.max(budgetMillis / 10, 1);
+        String fileName = "graph_adjacency_list_" + args[0] + "_" + args[1] + "_" + args[2] + ".csv";
+        ResidualGraph originalGraph = Helper.readResidualGraph(fileName);
+
+        long seed = args.length > 6 ? Long.parseLong(args[6]) : new Random().nextLong();
+        System.out.println("Seed: " + seed);
+        int source = originalGraph.getRandomVertex(new Random(seed));
+        int sink = Helper.findLongestPath(originalGraph, source);
+
+        AnytimeMaxFlow flow = new AnytimeMaxFlow(originalGraph.copy(), source, sink);
+        long start = System.nanoTime();
+        long deadline = budgetMillis > 0 ? start + (long) (budgetMillis * 1_000_000) : Long.MAX_VALUE;
+        boolean exact = false;
+        while (!exact) {
+            long slice = Math.min((long) (sliceMillis * 1_000_000), deadline - System.nanoTime());
+            if (slice <= 0) {
+                break;
+            }
+            exact = flow.run(slice, gap);
+            System.out.println(String.format("%8.1f ms\tlower %d\tupper %d", (System.nanoTime() - start) / 1_000_000.0,
+                    flow.lowerBound(), flow.upperBound()));
+            if (flow.upperBound() - flow.lowerBound() <= gap * flow.upperBound()) {
+                break;
+            }
+        }
+        Result anytime = flow.result("Anytime").withWallTime((System.nanoTime() - start) / 1_000_000.0);
+        System.out.println();
+
+        ResidualGraph g = originalGraph.copy();
+        Result reference = Helper.timed(() -> new RunDinicSimulation().runDinicSimulation(g, source, sink, "Dinic"));
+        System.out.println();
+
+        System.out.println("Anytime " + (anytime.isExact() ? "exact" : "approximate") + ": " + anytime.maxFlow()
+                + " <= max flow <= " + anytime.upperBound());
+        List<Result> results = new ArrayList<>();
+        results.add(anytime);
+        results.add(reference);
+        Helper.display(results, n, r, upperCap);
+    }
+}
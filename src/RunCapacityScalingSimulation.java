@@ -0,0 +1,74 @@
+/**
+ * Capacity-scaling variant of Max-Cap: instead of a widest-path Dijkstra per augmentation, each
+ * delta phase runs plain BFS searches that only use residual arcs of at least delta, halving delta from the
+ * largest power of two not above the largest capacity down to 1. That bounds the augmentations by
+ * O(E log U) with a linear-time search each.
+ */
+public class RunCapacityScalingSimulation {
+    private final boolean quiet;
+
+    RunCapacityScalingSimulation() {
+        this(false);
+    }
+
+    RunCapacityScalingSimulation(boolean quiet) {
+        this.quiet = quiet;
+    }
+
+    public Result runCapacityScalingSimulation(FlowGraph graph, int source, int sink, String type) {
+        int totalEdges = graph.edgeCount();
+
+        int maxCapacity = graph.maxCapacity();
+        int delta = maxCapacity > 0 ? Integer.highestOneBit(maxCapacity) : 0;
+
+        SAPSearch search = new SAPSearch(graph);
+        int traceRun = AugmentationTrace.ENABLED ? AugmentationTrace.startRun(type, graph.id(source), graph.id(sink)) : 0;
+
+        // Statistics
+        int paths = 0;
+        int totalLength = 0;
+        int maxLength = 0;
+        int phases = 0;
+        int searches = 0;
+
+        int maxFlow = 0;
+        FordFulkerson f = new FordFulkerson();
+        for (; delta >= 1; delta >>= 1) {
+            phases++;
+            searches++;
+            while (search.search(source, sink, delta)) {
+                paths++;
+                searches++;
+                int length = search.pathLength + 1; // vertices on the path
+                totalLength += length;
+                maxLength = Math.max(maxLength, length);
+
+                int minCapacity = f.findMinCapacity(graph, search.path, search.pathLength);
+                if (AugmentationTrace.ENABLED) {
+                    AugmentationTrace.recordPath(traceRun, paths, minCapacity, graph, source, search.path, search.pathLength);
+                }
+                f.updateResidualGraph(graph, search.path, search.pathLength, minCapacity);
+                maxFlow += minCapacity;
+            }
+        }
+        if (AugmentationTrace.ENABLED) {
+            AugmentationTrace.endRun(traceRun, maxFlow);
+        }
+
+        // Statistics
+        double meanLength = (double) totalLength / paths;
+        double meanProportionalLength = meanLength / maxLength;
+
+        if (!quiet) {
+            System.out.println("Maximum Flow: " + maxFlow);
+            System.out.println("Paths: " + paths);
+            System.out.println("Scaling Phases: " + phases);
+            System.out.println("Searches: " + searches);
+            System.out.println("Mean Length: " + meanLength);
+            System.out.println("Mean Proportional Length: " + meanProportionalLength);
+            System.out.println("Total Edges: " + totalEdges);
+        }
+
+        return new Result(type, maxFlow, paths, meanLength, meanProportionalLength, totalEdges).withPhases(phases, searches);
+    }
+}
@@ -0,0 +1,65 @@
+public class RunDinicSimulation {
+    private final boolean quiet;
+
+    RunDinicSimulation() {
+        this(false);
+    }
+
+    RunDinicSimulation(boolean quiet) {
+        this.quiet = quiet;
+    }
+
+    public Result runDinicSimulation(FlowGraph graph, int source, int sink, String type) {
+        int totalEdges = graph.edgeCount();
+        DinicSimulation dinic = new DinicSimulation(graph);
+        int traceRun = AugmentationTrace.ENABLED ? AugmentationTrace.startRun(type, graph.id(source), graph.id(sink)) : 0;
+
+        // Statistics
+        int paths = 0;
+        int totalLength = 0;
+        int maxLength = 0;
+        int phases = 0;
+        int searches = 0;
+
+        // Each phase sends a blocking flow through the level graph, path by path
+        int maxFlow = 0;
+        FordFulkerson f = new FordFulkerson();
+        while (dinic.buildLevelGraph(source, sink)) {
+            phases++;
+            searches++;
+            int pathLength;
+            while ((pathLength = dinic.findPath(source, sink)) > 0) {
+                paths++;
+                searches++;
+                int length = pathLength + 1; // vertices on the path
+                totalLength += length;
+                maxLength = Math.max(maxLength, length);
+
+                int minCapacity = f.findMinCapacity(graph, dinic.path, pathLength);
+                if (AugmentationTrace.ENABLED) {
+                    AugmentationTrace.recordPath(traceRun, paths, minCapacity, graph, source, dinic.path, pathLength);
+                }
+                f.updateResidualGraph(graph, dinic.path, pathLength, minCapacity);
+                maxFlow += minCapacity;
+            }
+        }
+        if (AugmentationTrace.ENABLED) {
+            AugmentationTrace.endRun(traceRun, maxFlow);
+        }
+
+        // Statistics
+        double meanLength = (double) totalLength / paths;
+        double meanProportionalLength = meanLength / maxLength;
+
+        if (!quiet) {
+            System.out.println("Maximum Flow: " + maxFlow);
+            System.out.println("Paths: " + paths);
+            System.out.println("Level Graphs: " + phases);
+            System.out.println("Mean Length: " + meanLength);
+            System.out.println("Mean Proportional Length: " + meanProportionalLength);
+            System.out.println("Total Edges: " + totalEdges);
+        }
+
+        return new Result(type, maxFlow, paths, meanLength, meanProportionalLength, totalEdges).withPhases(phases, searches);
+    }
+}
@@ -0,0 +1,83 @@
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the strategies on any {@link FlowGraph}, in particular an {@link OffHeapResidualGraph}. Every
+ * strategy goes to the same runner as on the heap, so off-heap results line up with on-heap ones.
+ * Parallel push-relabel is left out: it needs atomic updates of the residual array.
+ */
+public class RunFlowGraphSimulation {
+    static final String[] STRATEGIES = {"SAP", "SAP-Bidi", "DFS-Like", "Max-Cap", "Cap-Scale", "Random", "Dinic", "Push-Rel"};
+
+    RunFlowGraphSimulation() {}
+
+    // seed is only used by the Random strategy
+    public Result runFlowGraphSimulation(FlowGraph graph, int source, int sink, String type, long seed) {
+        if (graph == null || source < 0 || sink < 0) {
+            throw new IllegalArgumentException("Input arguments cannot be null.");
+        }
+        switch (type) {
+            case "SAP":
+                return new RunSAPSimulation().runSAPSimulation(graph, source, sink, type);
+            case "SAP-Bidi":
+                return new RunSAPSimulation().runSAPSimulation(graph, source, sink, type, true);
+            case "DFS-Like":
+                return new RunDFSLikeSimulation().runDFSLikeSimulation(graph, source, sink, type);
+            case "Max-Cap":
+                return new RunMaxCapSimulation().runMaxCapSimulation(graph, source, sink, type);
+            case "Cap-Scale":
+                return new RunCapacityScalingSimulation().runCapacityScalingSimulation(graph, source, sink, type);
+            case "Random":
+                return new RunRandomSimulation().runRandomSimulation(graph, source, sink, type, seed);
+            case "Dinic":
+                return new RunDinicSimulation().runDinicSimulation(graph, source, sink, type);
+            case "Push-Rel":
+                return new RunPushRelabelSimulation().runPushRelabelSimulation(graph, source, sink, type);
+            default:
+                throw new IllegalArgumentException("Unknown strategy: " + type);
+        }
+    }
+
+    /**
+     * Solves a graph kept entirely off the heap: the BinaryGraphFormat file of the (n, r, upperCap)
+     * point is memory-mapped and every strategy runs on it in turn.
+     * Usage: RunFlowGraphSimulation n r upperCap [strategy ...] [seed=value]
+     */
+    public static void main(String[] args) throws IOException {
+        SolverMetrics.publish();
+        int n = Integer.parseInt(args[0]);
+        double r = Double.parseDouble(args[1]);
+        int upperCap = Integer.parseInt(args[2]);
+        String fileName = "graph_adjacency_list_" + args[0] + "_" + args[1] + "_" + args[2] + ".bin";
+        OffHeapResidualGraph graph = OffHeapResidualGraph.map(Paths.get(fileName));
+
+        // Source and the Random strategy both follow the printed seed
+        List<String> options = Arrays.asList(args).subList(Math.min(3, args.length), args.length);
+        long seed = Helper.seed(options);
+
+        // Select a random source and find the longest path to determine the sink
+        int source = graph.getRandomVertex(new Random(seed));
+        if (source < 0) {
+            throw new IllegalArgumentException("Graph has no edges: " + fileName);
+        }
+        int sink = Helper.findLongestPath(graph, source);
+
+        List<String> strategies = options.stream().filter(option -> !option.startsWith("seed=")).collect(Collectors.toList());
+        if (strategies.isEmpty()) {
+            strategies = Arrays.asList(STRATEGIES);
+        }
+        List<Result> results = new ArrayList<>();
+        for (String strategy : strategies) {
+            graph.resetResidual();
+            results.add(Helper.timed(() -> new RunFlowGraphSimulation().runFlowGraphSimulation(graph, source, sink, strategy, seed)));
+            System.out.println();
+        }
+
+        Helper.display(results, n, r, upperCap);
+    }
+}
@@ -0,0 +1,35 @@
+public class RunParallelPushRelabelSimulation {
+    private final boolean quiet;
+
+    RunParallelPushRelabelSimulation() {
+        this(false);
+    }
+
+    RunParallelPushRelabelSimulation(boolean quiet) {
+        this.quiet = quiet;
+    }
+
+    public Result runParallelPushRelabelSimulation(ResidualGraph graph, int source, int sink, String type) {
+        return runParallelPushRelabelSimulation(graph, source, sink, type, Runtime.getRuntime().availableProcessors());
+    }
+
+    public Result runParallelPushRelabelSimulation(ResidualGraph graph, int source, int sink, String type, int threads) {
+        int totalEdges = graph.edgeCount;
+
+        ParallelPushRelabelSimulation pushRelabel = new ParallelPushRelabelSimulation(graph, threads);
+        int maxFlow = pushRelabel.maxFlow(source, sink);
+
+        // Push-relabel never builds augmenting paths, so the path statistics stay at zero
+        if (!quiet) {
+            System.out.println("Maximum Flow: " + maxFlow);
+            System.out.println("Threads: " + threads);
+            System.out.println("Rounds: " + pushRelabel.rounds);
+            System.out.println("Pushes: " + pushRelabel.pushes.sum());
+            System.out.println("Relabels: " + pushRelabel.relabels.sum());
+            System.out.println("Global Relabels: " + pushRelabel.globalRelabels);
+            System.out.println("Total Edges: " + totalEdges);
+        }
+
+        return new Result(type, maxFlow, 0, 0, 0, totalEdges);
+    }
+}
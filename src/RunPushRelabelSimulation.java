@@ -0,0 +1,38 @@
+public class RunPushRelabelSimulation {
+    private final boolean quiet;
+
+    RunPushRelabelSimulation() {
+        this(false);
+    }
+
+    RunPushRelabelSimulation(boolean quiet) {
+        this.quiet = quiet;
+    }
+
+    public Result runPushRelabelSimulation(Graph graph, Vertex source, Vertex sink, String type) {
+        if (graph == null || source == null || sink == null) {
+            throw new IllegalArgumentException("Input arguments cannot be null.");
+        }
+        ResidualGraph residualGraph = ResidualGraph.fromGraph(graph);
+        return runPushRelabelSimulation(residualGraph, residualGraph.indexOf(source.id), residualGraph.indexOf(sink.id), type);
+    }
+
+    public Result runPushRelabelSimulation(FlowGraph graph, int source, int sink, String type) {
+        int totalEdges = graph.edgeCount();
+
+        PushRelabelSimulation pushRelabel = new PushRelabelSimulation(graph);
+        int maxFlow = pushRelabel.maxFlow(source, sink);
+
+        // Push-relabel never builds augmenting paths, so the path statistics stay at zero
+        if (!quiet) {
+            System.out.println("Maximum Flow: " + maxFlow);
+            System.out.println("Pushes: " + pushRelabel.pushes);
+            System.out.println("Relabels: " + pushRelabel.relabels);
+            System.out.println("Gaps: " + pushRelabel.gaps);
+            System.out.println("Global Relabels: " + pushRelabel.globalRelabels);
+            System.out.println("Total Edges: " + totalEdges);
+        }
+
+        return new Result(type, maxFlow, 0, 0, 0, totalEdges);
+    }
+}
@@ -1,18 +1,34 @@
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class RunRandomSimulation {
 
-    RunRandomSimulation(){}
+    private final boolean quiet;
+
+    RunRandomSimulation() {
+        this(false);
+    }
+
+    RunRandomSimulation(boolean quiet) {
+        this.quiet = quiet;
+    }
 
     public Result runRandomSimulation(Graph graph, Vertex source, Vertex sink, String type) {
         int totalEdges = graph.vertices.values().stream().mapToInt(v -> v.neighbors.size()).sum();
 
         List<Vertex> augmentingPath = RandomSimulation.randomDijkstra(graph, source, sink);
-        System.out.println("Shortest Augmenting Path from " + source.id + " to " + sink.id + ":");
-        for (Vertex vertex : augmentingPath) {
-            System.out.print(vertex.id + " -> ");
-        }
-        System.out.println("END");
+        int traceRun = AugmentationTrace.ENABLED ? AugmentationTrace.startRun(type, source.id, sink.id) : 0;
 
         // Statistics
         int paths = 0;
@@ -28,29 +44,183 @@ public class RunRandomSimulation {
             maxLength = Math.max(maxLength, augmentingPath.size());
 
             int minCapacity = f.findMinCapacity(augmentingPath);
+            if (AugmentationTrace.ENABLED) {
+                AugmentationTrace.recordPath(traceRun, paths, minCapacity, augmentingPath);
+            }
             f.updateResidualGraph(augmentingPath, minCapacity);
             maxFlow += minCapacity;
 
             augmentingPath = RandomSimulation.randomDijkstra(graph, source, sink);
+        }
 
-            System.out.println("Shortest Augmenting Path from " + source.id + " to " + sink.id + ":");
-            for (Vertex vertex : augmentingPath) {
-                System.out.print(vertex.id + " -> ");
-            }
-            System.out.println("END");
+        if (AugmentationTrace.ENABLED) {
+            AugmentationTrace.endRun(traceRun, maxFlow);
         }
 
         // Statistics
         double meanLength = (double) totalLength / paths;
         double meanProportionalLength = meanLength / maxLength;
 
-        System.out.println("Maximum Flow: " + maxFlow);
-        System.out.println("Paths: " + paths);
-        System.out.println("Mean Length: " + meanLength);
-        System.out.println("Mean Proportional Length: " + meanProportionalLength);
-        System.out.println("Total Edges: " + totalEdges);
+        if (!quiet) {
+            System.out.println("Maximum Flow: " + maxFlow);
+            System.out.println("Paths: " + paths);
+            System.out.println("Mean Length: " + meanLength);
+            System.out.println("Mean Proportional Length: " + meanProportionalLength);
+            System.out.println("Total Edges: " + totalEdges);
+        }
 
         return new Result(type, maxFlow, paths, meanLength, meanProportionalLength, totalEdges);
     }
-}
 
+    // Unseeded runs draw a fresh seed and print it, so any run can be replayed with the seeded overload
+    public Result runRandomSimulation(FlowGraph graph, int source, int sink, String type) {
+        long seed = ThreadLocalRandom.current().nextLong();
+        if (!quiet) {
+            System.out.println("Seed: " + seed);
+        }
+        return runRandomSimulation(graph, source, sink, type, seed);
+    }
+
+    // The same seed on the same graph always finds the same augmenting paths
+    public Result runRandomSimulation(FlowGraph graph, int source, int sink, String type, long seed) {
+        Result result = solve(graph, new RandomSearch(graph, seed), source, sink, type);
+
+        if (!quiet) {
+            System.out.println("Maximum Flow: " + result.maxFlow());
+            System.out.println("Paths: " + result.paths());
+            System.out.println("Mean Length: " + result.meanLength());
+            System.out.println("Mean Proportional Length: " + result.meanProportionalLength());
+            System.out.println("Total Edges: " + result.totalEdges());
+        }
+
+        return result;
+    }
+
+    // Ford-Fulkerson with one RandomSearch whose buffers are reused for every augmentation; no printing
+    static Result solve(FlowGraph graph, RandomSearch search, int source, int sink, String type) {
+        if (graph == null || search == null || source < 0 || sink < 0) {
+            throw new IllegalArgumentException("Input arguments cannot be null.");
+        }
+        int totalEdges = graph.edgeCount();
+
+        boolean found = search.search(source, sink);
+        int traceRun = AugmentationTrace.ENABLED ? AugmentationTrace.startRun(type, graph.id(source), graph.id(sink)) : 0;
+
+        // Statistics
+        int paths = 0;
+        int totalLength = 0;
+        int maxLength = 0;
+
+        // Run Ford-Fulkerson
+        int maxFlow = 0;
+        FordFulkerson f = new FordFulkerson();
+        while (found) {
+            paths++;
+            int length = search.pathLength + 1; // vertices on the path
+            totalLength += length;
+            maxLength = Math.max(maxLength, length);
+
+            int minCapacity = f.findMinCapacity(graph, search.path, search.pathLength);
+            if (AugmentationTrace.ENABLED) {
+                AugmentationTrace.recordPath(traceRun, paths, minCapacity, graph, source, search.path, search.pathLength);
+            }
+            f.updateResidualGraph(graph, search.path, search.pathLength, minCapacity);
+            maxFlow += minCapacity;
+
+            found = search.search(source, sink);
+        }
+
+        if (AugmentationTrace.ENABLED) {
+            AugmentationTrace.endRun(traceRun, maxFlow);
+        }
+
+        // Statistics
+        double meanLength = (double) totalLength / paths;
+        double meanProportionalLength = meanLength / maxLength;
+        return new Result(type, maxFlow, paths, meanLength, meanProportionalLength, totalEdges);
+    }
+
+    /**
+     * Solves the same (source, sink) query once per seed on a pool of threads. Each worker owns a
+     * residual copy of topology and one RandomSearch that it reseeds per run, so the result for a
+     * seed does not depend on the thread count or on which worker ran it. Results come back in
+     * seed order.
+     */
+    static List<Result> runSeeds(ResidualGraph topology, int source, int sink, long[] seeds, int threads) {
+        if (topology == null || seeds == null || source < 0 || sink < 0) {
+            throw new IllegalArgumentException("Input arguments cannot be null.");
+        }
+        Result[] results = new Result[seeds.length];
+        AtomicInteger next = new AtomicInteger();
+        List<Callable<Void>> workers = new ArrayList<>();
+        for (int w = 0; w < Math.min(Math.max(threads, 1), Math.max(seeds.length, 1)); w++) {
+            workers.add(() -> {
+                ResidualGraph graph = topology.copy();
+                RandomSearch search = new RandomSearch(graph, 0);
+                for (int i; (i = next.getAndIncrement()) < seeds.length; ) {
+                    graph.resetResidual();
+                    search.reseed(seeds[i]);
+                    long start = System.nanoTime();
+                    Result result = solve(graph, search, source, sink, "Random");
+                    long elapsed = System.nanoTime() - start;
+                    SolverMetrics.recordSolve(result.simulationName(), elapsed);
+                    results[i] = result.withWallTime(elapsed / 1_000_000.0);
+                }
+                return null;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(workers.size());
+        try {
+            for (Future<Void> future : executor.invokeAll(workers)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for seeded runs", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Seeded run failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Runs the Random strategy under many seeds to measure how much path count and length vary.
+     * Seeds are drawn from firstSeed, so the whole table is reproducible.
+     * Usage: RunRandomSimulation n r upperCap runs [firstSeed [threads]]
+     */
+    public static void main(String[] args) throws IOException {
+        SolverMetrics.publish();
+        int n = Integer.parseInt(args[0]);
+        double r = Double.parseDouble(args[1]);
+        int upperCap = Integer.parseInt(args[2]);
+        int runs = Integer.parseInt(args[3]);
+        long firstSeed = args.length > 4 ? Long.parseLong(args[4]) : System.nanoTime();
+        int threads = args.length > 5 ? Integer.parseInt(args[5]) : Runtime.getRuntime().availableProcessors();
+        String fileName = "graph_adjacency_list_" + args[0] + "_" + args[1] + "_" + args[2] + ".csv";
+        ResidualGraph graph = Helper.readResidualGraph(fileName);
+
+        // The source and every run's seed come from firstSeed
+        SplittableRandom seeder = new SplittableRandom(firstSeed);
+        int source = graph.getRandomVertex(new Random(seeder.nextLong()));
+        if (source < 0) {
+            throw new IllegalArgumentException("Graph has no edges: " + fileName);
+        }
+        int sink = Helper.findLongestPath(graph, source);
+        long[] seeds = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            seeds[i] = seeder.nextLong();
+        }
+
+        List<Result> results = runSeeds(graph, source, sink, seeds, threads);
+
+        System.out.println("First Seed: " + firstSeed);
+        System.out.println(String.format("%-20s\t%-10s\t%-5s\t%-5s\t%-5s\t%-5s\t%-5s\t%-5s\t%-5s\t%-5s\t%-5s\t%-5s\t%-5s",
+                "seed", "Algorithm", "n", "r", "upperCap", "paths", "ML", "MPL", "totalEdges", "maxFlow", "time(ms)", "phases", "searches"));
+        for (int i = 0; i < runs; i++) {
+            System.out.println(String.format("%-20s\t", seeds[i]) + results.get(i).toFormattedString(n, r, upperCap));
+        }
+    }
+}
@@ -1,17 +1,21 @@
 import java.util.List;
 
 public class RunSAPSimulation {
-    RunSAPSimulation() {}
+    private final boolean quiet;
+
+    RunSAPSimulation() {
+        this(false);
+    }
+
+    RunSAPSimulation(boolean quiet) {
+        this.quiet = quiet;
+    }
 
     public Result runSAPSimulation(Graph graph, Vertex source, Vertex sink, String type) {
         int totalEdges = graph.vertices.values().stream().mapToInt(v -> v.neighbors.size()).sum();
 
         List<Vertex> augmentingPath = SAPSimulation.dijkstra(graph, source, sink);
-        System.out.println("Shortest Augmenting Path from " + source.id + " to " + sink.id + ":");
-        for (Vertex vertex : augmentingPath) {
-            System.out.print(vertex.id + " -> ");
-        }
-        System.out.println("END");
+        int traceRun = AugmentationTrace.ENABLED ? AugmentationTrace.startRun(type, source.id, sink.id) : 0;
 
         // Statistics
         int paths = 0;
@@ -27,27 +31,86 @@ public class RunSAPSimulation {
             maxLength = Math.max(maxLength, augmentingPath.size());
 
             int minCapacity = f.findMinCapacity(augmentingPath);
+            if (AugmentationTrace.ENABLED) {
+                AugmentationTrace.recordPath(traceRun, paths, minCapacity, augmentingPath);
+            }
             f.updateResidualGraph(augmentingPath, minCapacity);
             maxFlow += minCapacity;
 
             augmentingPath = SAPSimulation.dijkstra(graph, source, sink);
+        }
 
-            System.out.println("Shortest Augmenting Path from " + source.id + " to " + sink.id + ":");
-            for (Vertex vertex : augmentingPath) {
-                System.out.print(vertex.id + " -> ");
+        if (AugmentationTrace.ENABLED) {
+            AugmentationTrace.endRun(traceRun, maxFlow);
+        }
+
+        // Statistics
+        double meanLength = (double) totalLength / paths;
+        double meanProportionalLength = meanLength / maxLength;
+
+        if (!quiet) {
+            System.out.println("Maximum Flow: " + maxFlow);
+            System.out.println("Paths: " + paths);
+            System.out.println("Mean Length: " + meanLength);
+            System.out.println("Mean Proportional Length: " + meanProportionalLength);
+            System.out.println("Total Edges: " + totalEdges);
+        }
+
+        return new Result(type, maxFlow, paths, meanLength, meanProportionalLength, totalEdges);
+    }
+
+    public Result runSAPSimulation(FlowGraph graph, int source, int sink, String type) {
+        return runSAPSimulation(graph, source, sink, type, false);
+    }
+
+    // bidirectional grows a second BFS from the sink; the paths found have the same lengths
+    public Result runSAPSimulation(FlowGraph graph, int source, int sink, String type, boolean bidirectional) {
+        int totalEdges = graph.edgeCount();
+
+        SAPSearch search = new SAPSearch(graph, bidirectional);
+        boolean found = search.search(source, sink);
+        int traceRun = AugmentationTrace.ENABLED ? AugmentationTrace.startRun(type, graph.id(source), graph.id(sink)) : 0;
+
+        // Statistics
+        int paths = 0;
+        int totalLength = 0;
+        int maxLength = 0;
+
+        // Run Ford-Fulkerson
+        int maxFlow = 0;
+        FordFulkerson f = new FordFulkerson();
+        while (found) {
+            paths++;
+            int length = search.pathLength + 1; // vertices on the path
+            totalLength += length;
+            maxLength = Math.max(maxLength, length);
+
+            int minCapacity = f.findMinCapacity(graph, search.path, search.pathLength);
+            if (AugmentationTrace.ENABLED) {
+                AugmentationTrace.recordPath(traceRun, paths, minCapacity, graph, source, search.path, search.pathLength);
             }
-            System.out.println("END");
+            f.updateResidualGraph(graph, search.path, search.pathLength, minCapacity);
+            maxFlow += minCapacity;
+
+            found = search.search(source, sink);
+        }
+
+        if (AugmentationTrace.ENABLED) {
+            AugmentationTrace.endRun(traceRun, maxFlow);
         }
 
         // Statistics
         double meanLength = (double) totalLength / paths;
         double meanProportionalLength = meanLength / maxLength;
 
-        System.out.println("Maximum Flow: " + maxFlow);
-        System.out.println("Paths: " + paths);
-        System.out.println("Mean Length: " + meanLength);
-        System.out.println("Mean Proportional Length: " + meanProportionalLength);
-        System.out.println("Total Edges: " + totalEdges);
+        if (!quiet) {
+            System.out.println("Maximum Flow: " + maxFlow);
+            System.out.println("Paths: " + paths);
+            System.out.println("Mean Length: " + meanLength);
+            System.out.println("Mean Proportional Length: " + meanProportionalLength);
+            System.out.println("Total Edges: " + totalEdges);
+            System.out.println("Vertices Scanned: " + search.verticesScanned);
+        }
 
         return new Result(type, maxFlow, paths, meanLength, meanProportionalLength, totalEdges);
     }
@@ -0,0 +1,181 @@
+import java.util.Arrays;
+
+/**
+ * Reusable breadth-first shortest augmenting path search over any {@link FlowGraph}.
+ * All buffers are allocated once; visited marks are epoch stamps, so starting a new search
+ * only increments a counter and repeated searches allocate nothing.
+ * <p>
+ * In bidirectional mode a second BFS grows from the sink over reverse residual arcs, and each
+ * step expands one whole layer of whichever frontier is smaller. The first arc joining the two
+ * searches closes a shortest path, so results have the same length as the one-sided search.
+ */
+public class SAPSearch {
+    private final FlowGraph graph;
+    private final int[] visited;   // vertex is visited in this search iff visited[v] == epoch
+    private final int[] parentArc;
+    private final int[] queue;     // ring buffer, length is a power of two
+    private final int mask;
+    private int epoch;
+
+    // Bidirectional mode only, null otherwise
+    private final int[] visitedBackward;
+    private final int[] childArc;      // arc from v towards the sink on the backward BFS tree
+    private final int[] backwardQueue;
+    private final SearchProbe probe;
+
+    final int[] path;              // arcs of the last path found, source to sink
+    int pathLength;
+    long verticesScanned;          // vertices expanded over all searches so far
+    long arcsRelaxed;              // arcs that labelled a vertex over all searches so far
+
+    SAPSearch(FlowGraph graph) {
+        this(graph, false);
+    }
+
+    SAPSearch(FlowGraph graph, boolean bidirectional) {
+        if (graph == null) {
+            throw new IllegalArgumentException("Input arguments cannot be null.");
+        }
+        int n = graph.vertexCount();
+        this.graph = graph;
+        this.visited = new int[n];
+        this.parentArc = new int[n];
+        this.queue = new int[Integer.highestOneBit(Math.max(n, 1) * 2 - 1)];
+        this.mask = queue.length - 1;
+        this.path = new int[n];
+        this.visitedBackward = bidirectional ? new int[n] : null;
+        this.childArc = bidirectional ? new int[n] : null;
+        this.backwardQueue = bidirectional ? new int[n] : null;
+        this.probe = new SearchProbe(bidirectional ? "SAP-Bidi" : "SAP");
+    }
+
+    boolean isBidirectional() {
+        return visitedBackward != null;
+    }
+
+    // Returns true and fills path/pathLength if the sink is reachable in the residual graph
+    boolean search(int source, int sink) {
+        return search(source, sink, 1);
+    }
+
+    // Same, but only arcs with at least minResidual residual capacity count (used by capacity scaling)
+    boolean search(int source, int sink, int minResidual) {
+        if (source < 0 || sink < 0) {
+            throw new IllegalArgumentException("Input arguments cannot be null.");
+        }
+        probe.start();
+        long scanned = verticesScanned;
+        long relaxed = arcsRelaxed;
+        boolean found = find(source, sink, minResidual);
+        return probe.finish(found, pathLength, verticesScanned - scanned, arcsRelaxed - relaxed, 0, 0);
+    }
+
+    private boolean find(int source, int sink, int minResidual) {
+        if (++epoch == Integer.MAX_VALUE) {
+            Arrays.fill(visited, 0);
+            if (visitedBackward != null) {
+                Arrays.fill(visitedBackward, 0);
+            }
+            epoch = 1;
+        }
+        pathLength = 0;
+        if (source == sink) {
+            return false;
+        }
+        if (visitedBackward != null) {
+            return searchBidirectional(source, sink, minResidual);
+        }
+
+        FlowGraph graph = this.graph;
+        int queueHead = 0;
+        int queueTail = 0;
+        queue[queueTail++ & mask] = source;
+        visited[source] = epoch;
+
+        while (queueHead != queueTail) {
+            int u = queue[queueHead++ & mask];
+            verticesScanned++;
+            for (int a = graph.firstArc(u), end = graph.firstArc(u + 1); a < end; a++) {
+                int v = graph.head(a);
+                if (graph.residual(a) >= minResidual && visited[v] != epoch) {
+                    visited[v] = epoch;
+                    parentArc[v] = a;
+                    arcsRelaxed++;
+                    if (v == sink) {
+                        pathLength = graph.pathTo(parentArc, source, sink, path);
+                        return true;
+                    }
+                    queue[queueTail++ & mask] = v;
+                }
+            }
+        }
+        return false;
+    }
+
+    // Both BFS queues hold every vertex at most once, so they are plain arrays and a layer is
+    // the range between two marks.
+    private boolean searchBidirectional(int source, int sink, int minResidual) {
+        FlowGraph graph = this.graph;
+        int[] forwardQueue = queue;
+
+        int forwardHead = 0;
+        int forwardTail = 0;
+        int backwardHead = 0;
+        int backwardTail = 0;
+        forwardQueue[forwardTail++] = source;
+        visited[source] = epoch;
+        backwardQueue[backwardTail++] = sink;
+        visitedBackward[sink] = epoch;
+
+        while (forwardHead != forwardTail && backwardHead != backwardTail) {
+            if (forwardTail - forwardHead <= backwardTail - backwardHead) {
+                for (int layerEnd = forwardTail; forwardHead < layerEnd; ) {
+                    int u = forwardQueue[forwardHead++];
+                    verticesScanned++;
+                    for (int a = graph.firstArc(u), end = graph.firstArc(u + 1); a < end; a++) {
+                        int v = graph.head(a);
+                        if (graph.residual(a) >= minResidual && visited[v] != epoch) {
+                            visited[v] = epoch;
+                            parentArc[v] = a;
+                            arcsRelaxed++;
+                            if (visitedBackward[v] == epoch) {
+                                return join(source, sink, v);
+                            }
+                            forwardQueue[forwardTail++] = v;
+                        }
+                    }
+                }
+            } else {
+                for (int layerEnd = backwardTail; backwardHead < layerEnd; ) {
+                    int v = backwardQueue[backwardHead++];
+                    verticesScanned++;
+                    // Arc a leaves v; its pair reverse[a] enters v and is the one that must have residual
+                    for (int a = graph.firstArc(v), end = graph.firstArc(v + 1); a < end; a++) {
+                        int u = graph.head(a);
+                        int in = graph.reverse(a);
+                        if (graph.residual(in) >= minResidual && visitedBackward[u] != epoch) {
+                            visitedBackward[u] = epoch;
+                            childArc[u] = in;
+                            arcsRelaxed++;
+                            if (visited[u] == epoch) {
+                                return join(source, sink, u);
+                            }
+                            backwardQueue[backwardTail++] = u;
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    // Source-to-meet half from the forward tree, then meet-to-sink half from the backward tree
+    private boolean join(int source, int sink, int meet) {
+        int length = graph.pathTo(parentArc, source, meet, path);
+        for (int v = meet; v != sink; v = graph.head(childArc[v])) {
+            path[length++] = childArc[v];
+        }
+        pathLength = length;
+        return true;
+    }
+}
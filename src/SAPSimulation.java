@@ -3,7 +3,6 @@ import java.util.*;
 public class SAPSimulation {
 
     static List<Vertex> dijkstra(Graph graph, Vertex source, Vertex sink) {
-        System.out.println("Inside dijkstra SAP");
         if (graph == null || source == null || sink == null) {
             throw new IllegalArgumentException("Input arguments cannot be null.");
         }
@@ -55,4 +54,14 @@ public class SAPSimulation {
         Collections.reverse(path);
         return path;
     }
+
+    // Unit-weight Dijkstra on the CSR residual graph is a BFS; returns the arcs of the path, empty if none.
+    // Loops that search repeatedly should keep one SAPSearch instead, which allocates nothing per call.
+    static int[] dijkstra(FlowGraph graph, int source, int sink) {
+        SAPSearch search = new SAPSearch(graph);
+        if (!search.search(source, sink)) {
+            return new int[0];
+        }
+        return Arrays.copyOf(search.path, search.pathLength);
+    }
 }
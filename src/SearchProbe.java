@@ -0,0 +1,56 @@
+import jdk.jfr.FlightRecorder;
+
+/**
+ * Reports one augmenting-path search at a time to {@link SolverMetrics} and, while a Flight
+ * Recorder recording has it enabled, as a {@link PathSearchEvent}. A search keeps one probe and
+ * calls {@link #start} and {@link #finish} around each call; between them it only counts into
+ * locals. Nothing is allocated unless a Flight Recorder recording is running.
+ */
+final class SearchProbe {
+    private final String kind;
+    private final LatencyHistogram latency;
+    private long start;
+    private PathSearchEvent event;
+
+    SearchProbe(String kind) {
+        this.kind = kind;
+        this.latency = SolverMetrics.searchLatency(kind);
+    }
+
+    void start() {
+        // Looking up the event type would start JFR; until a recording has, there is nothing to emit
+        if (FlightRecorder.isInitialized()) {
+            PathSearchEvent candidate = new PathSearchEvent();
+            if (candidate.isEnabled()) {
+                candidate.begin();
+                event = candidate;
+            }
+        }
+        start = System.nanoTime();
+    }
+
+    // Returns found, so a search can end with "return probe.finish(...)"
+    boolean finish(boolean found, int pathLength, long scanned, long relaxed, long pushes, long pops) {
+        latency.record(System.nanoTime() - start);
+        SolverMetrics.searches.increment();
+        SolverMetrics.verticesScanned.add(scanned);
+        SolverMetrics.arcsRelaxed.add(relaxed);
+        if (pushes > 0) {
+            SolverMetrics.heapPushes.add(pushes);
+            SolverMetrics.heapPops.add(pops);
+        }
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.kind = kind;
+                event.found = found;
+                event.pathLength = pathLength;
+                event.verticesScanned = scanned;
+                event.arcsRelaxed = relaxed;
+                event.commit();
+            }
+            event = null;
+        }
+        return found;
+    }
+}
@@ -0,0 +1,173 @@
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Always-on solver telemetry: work counters summed over every search, and a {@link LatencyHistogram}
+ * per search kind and per solved strategy. Searches report through a {@link SearchProbe} once per
+ * call and solves through {@link #recordSolve}, so the hot loops only count into locals.
+ * <p>
+ * The command-line entry points call {@link #publish} before any solve, which registers the registry
+ * over JMX as {@code maxflow:type=SolverMetrics}; loading the class alone starts nothing. With
+ * {@code -Dmetrics.dump=<path>} publishing also writes {@link #dump} to that file at exit, or to
+ * stderr for "-".
+ */
+public final class SolverMetrics implements SolverMetricsMXBean {
+    static final String DUMP_PROPERTY = "metrics.dump";
+    static final String OBJECT_NAME = "maxflow:type=SolverMetrics";
+
+    static final LongAdder searches = new LongAdder();
+    static final LongAdder verticesScanned = new LongAdder();
+    static final LongAdder arcsRelaxed = new LongAdder();
+    static final LongAdder heapPushes = new LongAdder();
+    static final LongAdder heapPops = new LongAdder();
+    static final LongAdder augmentations = new LongAdder();
+
+    private static final ConcurrentMap<String, LatencyHistogram> searchLatency = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, LatencyHistogram> solveLatency = new ConcurrentHashMap<>();
+    private static boolean published;
+
+    private SolverMetrics() {}
+
+    // Registers the MXBean and the exit dump; call from main before timing anything, since starting
+    // the platform MBean server takes a while. Later calls do nothing.
+    static synchronized void publish() {
+        if (published) {
+            return;
+        }
+        published = true;
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new SolverMetrics(), new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            System.err.println("Solver metrics are not available over JMX: " + e);
+        }
+        String dumpTo = System.getProperty(DUMP_PROPERTY);
+        if (dumpTo != null) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> writeDump(dumpTo), "metrics-dump"));
+        }
+    }
+
+    static LatencyHistogram searchLatency(String kind) {
+        return searchLatency.computeIfAbsent(kind, k -> new LatencyHistogram());
+    }
+
+    static void recordSolve(String strategy, long nanos) {
+        solveLatency.computeIfAbsent(strategy, k -> new LatencyHistogram()).record(nanos);
+    }
+
+    static void dump(PrintStream out) {
+        out.println(String.format("Searches: %d, Vertices Scanned: %d, Arcs Relaxed: %d, Heap Pushes: %d, Heap Pops: %d, Augmentations: %d",
+                searches.sum(), verticesScanned.sum(), arcsRelaxed.sum(), heapPushes.sum(), heapPops.sum(), augmentations.sum()));
+        dump(out, "Search", "us", searchLatency, 1_000.0);
+        dump(out, "Solve", "ms", solveLatency, 1_000_000.0);
+    }
+
+    private static void dump(PrintStream out, String title, String unit, Map<String, LatencyHistogram> histograms, double scale) {
+        out.println(String.format("%-10s\t%-10s\t%-8s\t%-8s\t%-8s\t%-8s\t%-8s\t%-8s",
+                title, "count", "mean", "p50", "p90", "p99", "p99.9", "max(" + unit + ")"));
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(histograms).entrySet()) {
+            LatencyHistogram h = entry.getValue();
+            out.println(String.format(Locale.ROOT, "%-10s\t%-10d\t%-8.1f\t%-8.1f\t%-8.1f\t%-8.1f\t%-8.1f\t%-8.1f",
+                    entry.getKey(), h.count(), h.mean() / scale, h.percentile(50) / scale, h.percentile(90) / scale,
+                    h.percentile(99) / scale, h.percentile(99.9) / scale, h.max() / scale));
+        }
+    }
+
+    private static void writeDump(String target) {
+        if (target.equals("-")) {
+            dump(System.err);
+            return;
+        }
+        try (PrintStream out = new PrintStream(Files.newOutputStream(Paths.get(target)), true, "UTF-8")) {
+            dump(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write metrics to " + target, e);
+        }
+    }
+
+    @Override
+    public long getSearches() {
+        return searches.sum();
+    }
+
+    @Override
+    public long getVerticesScanned() {
+        return verticesScanned.sum();
+    }
+
+    @Override
+    public long getArcsRelaxed() {
+        return arcsRelaxed.sum();
+    }
+
+    @Override
+    public long getHeapPushes() {
+        return heapPushes.sum();
+    }
+
+    @Override
+    public long getHeapPops() {
+        return heapPops.sum();
+    }
+
+    @Override
+    public long getAugmentations() {
+        return augmentations.sum();
+    }
+
+    @Override
+    public String[] getSearchKinds() {
+        return new TreeMap<>(searchLatency).keySet().toArray(new String[0]);
+    }
+
+    @Override
+    public String[] getSolveStrategies() {
+        return new TreeMap<>(solveLatency).keySet().toArray(new String[0]);
+    }
+
+    @Override
+    public double searchLatencyMicros(String kind, double percentile) {
+        LatencyHistogram h = searchLatency.get(kind);
+        return h == null ? 0 : h.percentile(percentile) / 1_000.0;
+    }
+
+    @Override
+    public double solveLatencyMillis(String strategy, double percentile) {
+        LatencyHistogram h = solveLatency.get(strategy);
+        return h == null ? 0 : h.percentile(percentile) / 1_000_000.0;
+    }
+
+    @Override
+    public String dump() {
+        java.io.ByteArrayOutputStream bytes = new java.io.ByteArrayOutputStream();
+        try (PrintStream out = new PrintStream(bytes, true, "UTF-8")) {
+            dump(out);
+            return bytes.toString("UTF-8");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void reset() {
+        searches.reset();
+        verticesScanned.reset();
+        arcsRelaxed.reset();
+        heapPushes.reset();
+        heapPops.reset();
+        augmentations.reset();
+        searchLatency.values().forEach(LatencyHistogram::reset);
+        solveLatency.values().forEach(LatencyHistogram::reset);
+    }
+}
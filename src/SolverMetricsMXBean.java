@@ -0,0 +1,29 @@
+/**
+ * JMX view of {@link SolverMetrics}, registered as {@code maxflow:type=SolverMetrics}. Latencies are
+ * per search kind (SAP, Random, Dinic, ...) and per solved strategy.
+ */
+public interface SolverMetricsMXBean {
+    long getSearches();
+
+    long getVerticesScanned();
+
+    long getArcsRelaxed();
+
+    long getHeapPushes();
+
+    long getHeapPops();
+
+    long getAugmentations();
+
+    String[] getSearchKinds();
+
+    String[] getSolveStrategies();
+
+    double searchLatencyMicros(String kind, double percentile);
+
+    double solveLatencyMillis(String strategy, double percentile);
+
+    String dump();
+
+    void reset();
+}
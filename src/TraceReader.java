@@ -0,0 +1,73 @@
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Renders an {@link AugmentationTrace} file in the text format the simulations used to print.
+ * Usage: java TraceReader <trace-file> [runId]
+ */
+public class TraceReader {
+    public static void main(String[] args) throws IOException {
+        int onlyRun = args.length > 1 ? Integer.parseInt(args[1]) : -1;
+        Map<Integer, int[]> endpoints = new HashMap<>();
+        StringBuilder line = new StringBuilder();
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(args[0]), 1 << 16))) {
+            if (in.readInt() != AugmentationTrace.MAGIC) {
+                throw new IOException("Not an augmentation trace: " + args[0]);
+            }
+            while (true) {
+                int type;
+                try {
+                    type = in.readByte();
+                } catch (EOFException e) {
+                    break;
+                }
+                int run = in.readInt();
+                boolean show = onlyRun == -1 || onlyRun == run;
+                if (type == AugmentationTrace.RUN) {
+                    byte[] name = new byte[in.readShort()];
+                    in.readFully(name);
+                    int sourceId = in.readInt();
+                    int sinkId = in.readInt();
+                    endpoints.put(run, new int[]{sourceId, sinkId});
+                    if (show) {
+                        System.out.println("Run " + run + ": " + new String(name, StandardCharsets.UTF_8));
+                    }
+                } else if (type == AugmentationTrace.PATH) {
+                    int iteration = in.readInt();
+                    int bottleneck = in.readInt();
+                    int count = in.readInt();
+                    line.setLength(0);
+                    for (int i = 0; i < count; i++) {
+                        line.append(in.readInt()).append(" -> ");
+                    }
+                    if (show) {
+                        printPathHeader(endpoints.get(run));
+                        System.out.println(line + "END");
+                        System.out.println("Path " + iteration + " Bottleneck: " + bottleneck);
+                    }
+                } else if (type == AugmentationTrace.END) {
+                    int maxFlow = in.readInt();
+                    if (show) {
+                        // The final search found no path
+                        printPathHeader(endpoints.get(run));
+                        System.out.println("END");
+                        System.out.println("Maximum Flow: " + maxFlow);
+                    }
+                } else {
+                    throw new IOException("Unknown record type " + type + " in " + args[0]);
+                }
+            }
+        }
+    }
+
+    private static void printPathHeader(int[] endpoints) {
+        System.out.println("Shortest Augmenting Path from " + endpoints[0] + " to " + endpoints[1] + ":");
+    }
+}